@@ -0,0 +1,82 @@
+package gbthefatboy.entry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import gbthefatboy.command.ListOptions;
+import gbthefatboy.exception.GbException;
+import gbthefatboy.storage.BenchmarkTasks;
+import gbthefatboy.storage.Storage;
+
+/**
+ * Measures rendering the GUI response to the list command: the first page, which is served from
+ * the cached page after the first call, alternating between the first and last page, which misses
+ * that cache but reuses the rendered task lines, and the whole list on one page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListResponseBenchmark {
+    @Param({"100", "1000", "100000"})
+    private int size;
+
+    private Path directory;
+    private GbTheFatBoy app;
+    private String lastPageCommand;
+    private String allTasksCommand;
+    private boolean isOnLastPage;
+
+    /**
+     * Writes a data file with the benchmarked number of tasks and starts the app on it.
+     *
+     * @throws IOException If the temporary directory cannot be created.
+     * @throws GbException If the data file cannot be written.
+     */
+    @Setup
+    public void setUp() throws IOException, GbException {
+        directory = Files.createTempDirectory("gb-list-bench");
+        String dataFile = directory.resolve("tasks.txt").toString();
+        Storage storage = new Storage(dataFile);
+        storage.saveTasks(BenchmarkTasks.create(size));
+        storage.close();
+        app = new GbTheFatBoy(dataFile);
+        // find-date waits for a background load to finish, so the list below is complete
+        app.getResponse("find-date 1999-01-01");
+        int pageSize = ListOptions.DEFAULT_PAGE_SIZE;
+        lastPageCommand = "list " + (size + pageSize - 1) / pageSize;
+        allTasksCommand = "list --page-size " + size;
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.shutdown();
+    }
+
+    @Benchmark
+    public String list() {
+        return app.getResponse("list");
+    }
+
+    @Benchmark
+    public String listAlternatingPages() {
+        isOnLastPage = !isOnLastPage;
+        return app.getResponse(isOnLastPage ? lastPageCommand : "list");
+    }
+
+    @Benchmark
+    public String listAllOnOnePage() {
+        return app.getResponse(allTasksCommand);
+    }
+}
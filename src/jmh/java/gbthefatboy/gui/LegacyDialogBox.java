@@ -0,0 +1,60 @@
+package gbthefatboy.gui;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+
+/**
+ * Copy of {@link DialogBox} as it was when every message loaded its own copy of the FXML layout.
+ * Kept with that layout as the baseline for {@link DialogBoxBenchmark}.
+ */
+class LegacyDialogBox extends HBox {
+    @FXML
+    private Label dialog;
+    @FXML
+    private ImageView displayPicture;
+
+    private LegacyDialogBox(String text, Image img) {
+        try {
+            FXMLLoader fxmlLoader = new FXMLLoader(LegacyDialogBox.class.getResource("/view/LegacyDialogBox.fxml"));
+            fxmlLoader.setController(this);
+            fxmlLoader.setRoot(this);
+            fxmlLoader.load();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        dialog.setText(text);
+        displayPicture.setImage(img);
+    }
+
+    /**
+     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     */
+    private void flip() {
+        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
+        Collections.reverse(tmp);
+        getChildren().setAll(tmp);
+        setAlignment(Pos.TOP_LEFT);
+    }
+
+    static LegacyDialogBox getUserDialog(String text, Image img) {
+        return new LegacyDialogBox(text, img);
+    }
+
+    static LegacyDialogBox getGbTheFatBoyDialog(String text, Image img) {
+        var db = new LegacyDialogBox(text, img);
+        db.flip();
+        return db;
+    }
+}
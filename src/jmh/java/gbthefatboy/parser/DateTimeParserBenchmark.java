@@ -0,0 +1,50 @@
+package gbthefatboy.parser;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import gbthefatboy.exception.GbException;
+import gbthefatboy.task.Deadline;
+import gbthefatboy.task.Event;
+
+/**
+ * Measures parsing date-time strings on their own and as part of deadline and event arguments.
+ * The inputs cover the first supported formats as well as ones that are only matched after
+ * several other formats have been tried. {@link LegacyDateTimeParser} is measured alongside as
+ * the baseline that tried each format in turn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateTimeParserBenchmark {
+    @Param({"2019-12-02 1800", "2/12/2019 18:00", "12/25/2019 6pm", "2019/12/2 6:30PM", "2019-12-02"})
+    private String dateTime;
+
+    @Benchmark
+    public LocalDateTime parseDateTime() {
+        return DateTimeParser.parseDateTime(dateTime);
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTimeLegacy() {
+        return LegacyDateTimeParser.parseDateTime(dateTime);
+    }
+
+    @Benchmark
+    public Deadline parseDeadline() throws GbException {
+        return Parser.parseDeadline("return book /by " + dateTime);
+    }
+
+    @Benchmark
+    public Event parseEvent() throws GbException {
+        return Parser.parseEvent("project meeting /from " + dateTime + " /to " + dateTime);
+    }
+}
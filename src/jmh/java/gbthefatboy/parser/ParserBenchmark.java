@@ -0,0 +1,31 @@
+package gbthefatboy.parser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.exception.GbException;
+
+/**
+ * Measures splitting a command line into its command type and arguments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+    @Param({"todo borrow book", "deadline return book /by 2019-12-02 1800",
+        "event project meeting /from 2019-12-02 1400 /to 2019-12-02 1600", "list", "mark 12"})
+    private String commandLine;
+
+    @Benchmark
+    public Command parse() throws GbException {
+        return Parser.parse(commandLine);
+    }
+}
@@ -0,0 +1,45 @@
+package gbthefatboy.storage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import gbthefatboy.task.Deadline;
+import gbthefatboy.task.Event;
+import gbthefatboy.task.Task;
+import gbthefatboy.task.Todo;
+
+/**
+ * Generates reproducible task lists for the benchmarks.
+ * A third of the tasks each are todos, deadlines and events, with dates spread over about three years.
+ */
+public final class BenchmarkTasks {
+    public static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+    private static final String[] WORDS = {"report", "groceries", "meeting", "review", "gym", "invoice", "lecture"};
+
+    private BenchmarkTasks() {
+    }
+
+    /**
+     * Creates the given number of tasks.
+     *
+     * @param count The number of tasks.
+     * @return The tasks, the same for every call with the same count.
+     */
+    public static ArrayList<Task> create(int count) {
+        ArrayList<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = "task " + i + " " + WORDS[i % WORDS.length];
+            LocalDateTime date = START.plusDays(i % 1000);
+            Task task = switch (i % 3) {
+            case 0 -> new Todo(description);
+            case 1 -> new Deadline(description, date);
+            default -> new Event(description, date, date.plusDays(i % 4).plusHours(2));
+            };
+            if (i % 5 == 0) {
+                task.mark();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,96 @@
+package gbthefatboy.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import gbthefatboy.exception.GbException;
+import gbthefatboy.task.Task;
+
+/**
+ * Measures loading and saving a whole data file in each snapshot format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"TEXT", "BINARY"})
+    private SnapshotFormat format;
+
+    private Path directory;
+    private String dataFile;
+    private ArrayList<Task> tasks;
+    private Storage storage;
+
+    /**
+     * Writes a data file of the benchmarked size for the load benchmark to read.
+     *
+     * @throws IOException If the temporary directory cannot be created.
+     * @throws GbException If the data file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, GbException {
+        directory = Files.createTempDirectory("gb-storage-bench");
+        dataFile = directory.resolve(format == SnapshotFormat.BINARY ? "tasks.bin" : "tasks.txt").toString();
+        tasks = BenchmarkTasks.create(size);
+        storage = new Storage(dataFile, format);
+        storage.saveTasks(tasks);
+    }
+
+    /**
+     * Stops the storage writer and deletes the temporary files.
+     *
+     * @throws IOException If the files cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        storage.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Loads the data file with a fresh storage, as on start-up.
+     *
+     * @return The loaded tasks.
+     * @throws GbException If the file cannot be read.
+     */
+    @Benchmark
+    public ArrayList<Task> loadTasks() throws GbException {
+        Storage loader = new Storage(dataFile, format);
+        ArrayList<Task> loaded = loader.loadTasks();
+        loader.close();
+        return loaded;
+    }
+
+    /**
+     * Writes a full snapshot and waits for it to reach the disk.
+     *
+     * @throws GbException If the file cannot be written.
+     */
+    @Benchmark
+    public void saveTasks() throws GbException {
+        storage.saveTasks(tasks);
+    }
+}
@@ -0,0 +1,105 @@
+package gbthefatboy.storage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import gbthefatboy.task.Task;
+
+/**
+ * Measures the find and find-date queries on task lists of increasing size.
+ * The scan benchmarks run the linear search find used before the keyword index, as the baseline for it;
+ * a keyword found in most tasks should cost find no more than the scan.
+ * Each list is built in both {@link TaskLayout}s, to show what building tasks from columns costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"OBJECTS", "COLUMNS"})
+    private TaskLayout layout;
+
+    private TaskList taskList;
+    private List<Task> tasks;
+    private String rareKeyword;
+    private LocalDate date;
+
+    /**
+     * Builds the task list, including its indexes.
+     */
+    @Setup
+    public void setUp() {
+        taskList = new TaskList(BenchmarkTasks.create(size), layout);
+        tasks = taskList.snapshotTasks();
+        rareKeyword = "task " + (size / 2) + " ";
+        date = BenchmarkTasks.START.toLocalDate().plusDays(10);
+    }
+
+    @Benchmark
+    public ArrayList<Task> findRareKeyword() {
+        return taskList.findTasksByKeyword(rareKeyword);
+    }
+
+    @Benchmark
+    public ArrayList<Task> findCommonKeyword() {
+        return taskList.findTasksByKeyword("meeting");
+    }
+
+    @Benchmark
+    public ArrayList<Task> scanRareKeyword() {
+        return scan(rareKeyword);
+    }
+
+    @Benchmark
+    public ArrayList<Task> scanCommonKeyword() {
+        return scan("meeting");
+    }
+
+    @Benchmark
+    public ArrayList<Task> findEveryTaskKeyword() {
+        return taskList.findTasksByKeyword("task");
+    }
+
+    @Benchmark
+    public ArrayList<Task> scanEveryTaskKeyword() {
+        return scan("task");
+    }
+
+    @Benchmark
+    public ArrayList<Task> findShortKeyword() {
+        return taskList.findTasksByKeyword("gy");
+    }
+
+    @Benchmark
+    public ArrayList<Task> findByDate() {
+        return taskList.findTasksByDate(date);
+    }
+
+    @Benchmark
+    public ArrayList<Task> findByDateRange() {
+        return taskList.findTasksByDateRange(date, date.plusDays(6));
+    }
+
+    private ArrayList<Task> scan(String keyword) {
+        ArrayList<Task> matches = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getDescription().contains(keyword)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+}
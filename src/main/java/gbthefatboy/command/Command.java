@@ -3,31 +3,92 @@ package gbthefatboy.command;
 /**
  * Represents a parsed command with its type and associated arguments.
  * Encapsulates the command information extracted from user input.
+ *
+ * <p>A command refers to the input line it was parsed from rather than copying parts of it.
+ * The arguments are given as a range of that line, and for deadlines and events the positions
+ * of the {@code /by}, {@code /from} and {@code /to} flags found while parsing are kept as well,
+ * so the arguments can be split without searching them again.
  */
 public class Command {
 
     private final CommandType type;
-    private final String arguments;
+    private final String source;
+    private final int argumentsStart;
+    private final int argumentsEnd;
+    private final int byOffset;
+    private final int fromOffset;
+    private final int toOffset;
+    private String arguments;
 
     /**
-     * Creates a new Command with the specified type and arguments.
+     * Creates a new Command whose arguments are a range of the given input.
      *
      * @param type The type of command.
-     * @param arguments The arguments associated with the command.
+     * @param source The input the command was parsed from.
+     * @param argumentsStart The index of the first character of the arguments.
+     * @param argumentsEnd The index after the last character of the arguments.
+     * @param byOffset The index of the {@code /by} flag including its leading space, or -1 if absent.
+     * @param fromOffset The index of the {@code /from} flag including its leading space, or -1 if absent.
+     * @param toOffset The index of the first {@code /to} flag after the {@code /from} flag, or -1 if absent.
      */
-    public Command(CommandType type, String arguments) {
+    public Command(CommandType type, String source, int argumentsStart, int argumentsEnd,
+            int byOffset, int fromOffset, int toOffset) {
         this.type = type;
-        this.arguments = arguments;
+        this.source = source;
+        this.argumentsStart = argumentsStart;
+        this.argumentsEnd = argumentsEnd;
+        this.byOffset = byOffset;
+        this.fromOffset = fromOffset;
+        this.toOffset = toOffset;
     }
 
     public CommandType getType() {
         return this.type;
     }
 
+    /**
+     * Returns the arguments of the command, copying them out of the input on first use.
+     *
+     * @return The arguments, without surrounding whitespace.
+     */
     public String getArguments() {
+        if (this.arguments == null) {
+            this.arguments = this.source.substring(this.argumentsStart, this.argumentsEnd);
+        }
         return this.arguments;
     }
 
+    /**
+     * Returns part of the input the command was parsed from.
+     *
+     * @param start The index of the first character.
+     * @param end The index after the last character.
+     * @return The characters in the range.
+     */
+    public String slice(int start, int end) {
+        return this.source.substring(start, end);
+    }
+
+    public int getArgumentsStart() {
+        return this.argumentsStart;
+    }
+
+    public int getArgumentsEnd() {
+        return this.argumentsEnd;
+    }
+
+    public int getByOffset() {
+        return this.byOffset;
+    }
+
+    public int getFromOffset() {
+        return this.fromOffset;
+    }
+
+    public int getToOffset() {
+        return this.toOffset;
+    }
+
     /**
      * Checks if this command is an exit command.
      *
@@ -1,21 +1,38 @@
 package gbthefatboy.command;
 
+import java.util.Arrays;
+
 /**
  * Enumeration of all supported command types in the application.
  * Each enum value represents a different action the user can perform.
  */
 public enum CommandType {
-    TODO,
-    DEADLINE,
-    EVENT,
-    LIST,
-    MARK,
-    UNMARK,
-    DELETE,
-    FIND_DATE,
-    FIND,
-    TAG,
-    BYE;
+    TODO("todo"),
+    DEADLINE("deadline"),
+    EVENT("event"),
+    LIST("list"),
+    MARK("mark"),
+    UNMARK("unmark"),
+    DELETE("delete"),
+    FIND_DATE("find-date"),
+    FIND("find"),
+    TAG("tag"),
+    TAGS("tags"),
+    STATS("stats"),
+    BYE("bye");
+
+    // Command types grouped by the length of their keyword, so a lookup only compares keywords that could match
+    private static final CommandType[][] BY_KEYWORD_LENGTH = groupByKeywordLength();
+
+    private final String keyword;
+
+    CommandType(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getKeyword() {
+        return this.keyword;
+    }
 
     /**
      * Converts a string input to the corresponding CommandType.
@@ -26,21 +43,46 @@ public enum CommandType {
      * @throws IllegalArgumentException If the input doesn't match any known command.
      */
     public static CommandType fromString(String input) {
-        return switch(input.toLowerCase()) {
-        case "todo" -> TODO;
-        case "deadline" -> DEADLINE;
-        case "event" -> EVENT;
-        case "list" -> LIST;
-        case "mark" -> MARK;
-        case "unmark" -> UNMARK;
-        case "delete" -> DELETE;
-        case "find-date" -> FIND_DATE;
-        case "find" -> FIND;
-        case "tag" -> TAG;
-        case "bye" -> BYE;
-        default -> throw new IllegalArgumentException("Unknown command " + input);
-        };
+        CommandType type = lookup(input, 0, input.length());
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown command " + input);
+        }
+        return type;
     }
-}
 
+    /**
+     * Finds the command type whose keyword matches part of a string, ignoring case, without copying it.
+     *
+     * @param text The string containing the keyword.
+     * @param start The index of the first character of the keyword.
+     * @param end The index after the last character of the keyword.
+     * @return The matching command type, or null if there is none.
+     */
+    public static CommandType lookup(String text, int start, int end) {
+        int length = end - start;
+        if (length >= BY_KEYWORD_LENGTH.length) {
+            return null;
+        }
+        for (CommandType type : BY_KEYWORD_LENGTH[length]) {
+            if (text.regionMatches(true, start, type.keyword, 0, length)) {
+                return type;
+            }
+        }
+        return null;
+    }
 
+    private static CommandType[][] groupByKeywordLength() {
+        int maxLength = 0;
+        for (CommandType type : values()) {
+            maxLength = Math.max(maxLength, type.keyword.length());
+        }
+        CommandType[][] groups = new CommandType[maxLength + 1][0];
+        for (CommandType type : values()) {
+            CommandType[] group = groups[type.keyword.length()];
+            group = Arrays.copyOf(group, group.length + 1);
+            group[group.length - 1] = type;
+            groups[type.keyword.length()] = group;
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,34 @@
+package gbthefatboy.command;
+
+import java.time.LocalDate;
+
+/**
+ * An inclusive range of days given to the find-date command.
+ */
+public class DateRange {
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Creates a range covering every day from the first date to the last, inclusive.
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range.
+     */
+    public DateRange(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalDate getFrom() {
+        return this.from;
+    }
+
+    public LocalDate getTo() {
+        return this.to;
+    }
+
+    public boolean isSingleDay() {
+        return this.from.equals(this.to);
+    }
+}
@@ -0,0 +1,44 @@
+package gbthefatboy.command;
+
+import java.util.List;
+
+import gbthefatboy.task.TaskFilter;
+
+/**
+ * What the find command looks for: a keyword, or tags if every word of the query is a {@code #tag},
+ * among the tasks passing a filter.
+ */
+public class FindQuery {
+    private final String keyword;
+    private final List<String> tags;
+    private final TaskFilter filter;
+
+    /**
+     * Creates a query.
+     *
+     * @param keyword The text of the query after any filter options.
+     * @param tags The tags of the query, without their leading {@code #}, or an empty list for a keyword query.
+     * @param filter The filter.
+     */
+    public FindQuery(String keyword, List<String> tags, TaskFilter filter) {
+        this.keyword = keyword;
+        this.tags = tags;
+        this.filter = filter;
+    }
+
+    public String getKeyword() {
+        return this.keyword;
+    }
+
+    public List<String> getTags() {
+        return this.tags;
+    }
+
+    public TaskFilter getFilter() {
+        return this.filter;
+    }
+
+    public boolean isTagQuery() {
+        return !this.tags.isEmpty();
+    }
+}
@@ -0,0 +1,67 @@
+package gbthefatboy.command;
+
+import gbthefatboy.task.TaskFilter;
+
+/**
+ * The page of the task list asked for by the list command, and the filter the list is narrowed by.
+ */
+public class ListOptions {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final int page;
+    private final int pageSize;
+    private final TaskFilter filter;
+
+    /**
+     * Creates options listing the given page of every task.
+     *
+     * @param page The 1-based page number.
+     * @param pageSize The number of tasks on each page.
+     */
+    public ListOptions(int page, int pageSize) {
+        this(page, pageSize, TaskFilter.ALL);
+    }
+
+    /**
+     * Creates options listing the given page of the tasks passing a filter.
+     *
+     * @param page The 1-based page number.
+     * @param pageSize The number of tasks on each page.
+     * @param filter The filter.
+     */
+    public ListOptions(int page, int pageSize, TaskFilter filter) {
+        this.page = page;
+        this.pageSize = pageSize;
+        this.filter = filter;
+    }
+
+    public int getPage() {
+        return this.page;
+    }
+
+    public int getPageSize() {
+        return this.pageSize;
+    }
+
+    public TaskFilter getFilter() {
+        return this.filter;
+    }
+
+    public boolean hasDefaultPageSize() {
+        return this.pageSize == DEFAULT_PAGE_SIZE;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof ListOptions)) {
+            return false;
+        }
+        ListOptions options = (ListOptions) other;
+        return this.page == options.page && this.pageSize == options.pageSize && this.filter.equals(options.filter);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * this.page + this.pageSize) + this.filter.hashCode();
+    }
+}
@@ -1,19 +1,21 @@
 package gbthefatboy.command;
 
+import java.util.List;
+
 public class Tag {
     private final int index;
-    private final String tagMessage;
+    private final List<String> names;
 
-    public Tag(int index, String message) {
+    public Tag(int index, List<String> names) {
         this.index = index;
-        this.tagMessage = message;
+        this.names = names;
     }
 
     public int getIndex() {
         return this.index;
     }
 
-    public String getTagMessage() {
-        return this.tagMessage;
+    public List<String> getNames() {
+        return this.names;
     }
 }
@@ -0,0 +1,50 @@
+package gbthefatboy.entry;
+
+/**
+ * What a batch run did: how many commands it ran and rejected, and how often it saved.
+ */
+public class BatchSummary {
+    private final int commandCount;
+    private final int rejectedCount;
+    private final int intermediateSaveCount;
+    private final long saveCount;
+    private final long elapsedNanos;
+
+    /**
+     * Creates a summary of a finished batch run.
+     *
+     * @param commandCount The number of commands run.
+     * @param rejectedCount The number of commands that failed to parse or run.
+     * @param intermediateSaveCount The number of saves requested every n commands, before the final one.
+     * @param saveCount The number of snapshots written, after coalescing.
+     * @param elapsedNanos The time the whole batch took, including the final save.
+     */
+    public BatchSummary(int commandCount, int rejectedCount, int intermediateSaveCount, long saveCount,
+            long elapsedNanos) {
+        this.commandCount = commandCount;
+        this.rejectedCount = rejectedCount;
+        this.intermediateSaveCount = intermediateSaveCount;
+        this.saveCount = saveCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getCommandCount() {
+        return this.commandCount;
+    }
+
+    public int getRejectedCount() {
+        return this.rejectedCount;
+    }
+
+    public int getIntermediateSaveCount() {
+        return this.intermediateSaveCount;
+    }
+
+    public long getSaveCount() {
+        return this.saveCount;
+    }
+
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+}
@@ -1,18 +1,23 @@
 package gbthefatboy.entry;
 
-import java.time.LocalDate;
-import java.util.ArrayList;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import gbthefatboy.command.Command;
-import gbthefatboy.command.Tag;
 import gbthefatboy.exception.GbException;
+import gbthefatboy.handler.CommandRegistry;
+import gbthefatboy.handler.CommandResult;
+import gbthefatboy.handler.ErrorResults;
+import gbthefatboy.metrics.Metrics;
 import gbthefatboy.parser.Parser;
+import gbthefatboy.storage.SnapshotFormat;
 import gbthefatboy.storage.Storage;
+import gbthefatboy.storage.TaskLayout;
 import gbthefatboy.storage.TaskList;
-import gbthefatboy.task.Deadline;
-import gbthefatboy.task.Event;
-import gbthefatboy.task.Task;
-import gbthefatboy.task.Todo;
 import gbthefatboy.ui.Ui;
 
 /**
@@ -21,25 +26,101 @@ import gbthefatboy.ui.Ui;
  */
 public class GbTheFatBoy {
 
+    /** The data file the text interface and the GUI keep tasks in. */
+    public static final String DEFAULT_DATA_FILE = "./data/Gbot.txt";
+
+    private static final String STATS_FILE_NAME = "stats.txt";
+
     private final Ui ui;
     private final Storage storage;
     private TaskList taskList;
+    private final CommandRegistry commands;
+    private final Metrics metrics;
+    private final Path statsPath;
+    private volatile boolean isShutdown = false;
+    private boolean isStatsWritten = false;
 
     /**
      * Creates a new GbTheFatBoy application instance.
      * Initializes UI, storage, and attempts to load existing tasks.
+     * Large data files are loaded on a background thread so commands can run straight away.
      *
      * @param dataFilePath The file path where tasks are stored.
      */
     public GbTheFatBoy(String dataFilePath) {
+        this(dataFilePath, SnapshotFormat.forPath(dataFilePath));
+    }
+
+    /**
+     * Creates a new GbTheFatBoy application instance that saves tasks in the given format.
+     * A data file found in the other format is converted on load.
+     *
+     * @param dataFilePath The file path where tasks are stored.
+     * @param format The format the data file is saved in.
+     */
+    public GbTheFatBoy(String dataFilePath, SnapshotFormat format) {
+        this(dataFilePath, format, TaskLayout.OBJECTS);
+    }
+
+    /**
+     * Creates a new GbTheFatBoy application instance that saves tasks in the given format
+     * and keeps them in memory in the given layout.
+     *
+     * @param dataFilePath The file path where tasks are stored.
+     * @param format The format the data file is saved in.
+     * @param layout The layout the task list keeps its tasks in.
+     */
+    public GbTheFatBoy(String dataFilePath, SnapshotFormat format, TaskLayout layout) {
         this.ui = new Ui();
-        this.storage = new Storage(dataFilePath);
-        try {
-            this.taskList = new TaskList(this.storage.loadTasks());
-        } catch (GbException e) {
-            ui.showLoadingError();
-            this.taskList = new TaskList();
+        this.storage = new Storage(dataFilePath, format);
+        if (this.storage.prepareIncrementalLoad()) {
+            this.taskList = new TaskList(layout);
+            startBackgroundLoad();
+        } else {
+            try {
+                this.taskList = new TaskList(this.storage.loadTasks(), layout);
+            } catch (GbException e) {
+                ui.showLoadingError();
+                this.taskList = new TaskList(layout);
+            }
         }
+        this.metrics = new Metrics(storage.getPersistenceStats().getFlushLatency(), storage.getLoadLatency(),
+                () -> storage.getLoadTimings().toString(), taskList.getDescriptionPool());
+        this.statsPath = Path.of(dataFilePath).resolveSibling(STATS_FILE_NAME);
+        this.commands = CommandRegistry.createDefault(taskList, storage, metrics, this::shutdown);
+    }
+
+    /**
+     * Makes the JVM call {@link #shutdown()} on this instance and write its stats when it exits
+     * without a BYE, e.g. on Ctrl-C.
+     * Meant to be called once, for the instance the application runs on.
+     */
+    public void addShutdownHook() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            shutdown();
+            writeStats();
+        }, "gb-shutdown"));
+    }
+
+    /**
+     * Loads the task list on a background thread, publishing tasks as they are parsed.
+     * If the load fails partway, the storage is made read-only before loading is marked finished,
+     * so the partial list is never saved over the data file.
+     */
+    private void startBackgroundLoad() {
+        taskList.beginLoading();
+        Thread loader = new Thread(() -> {
+            try {
+                storage.loadTasksIncrementally(taskList::appendLoaded);
+            } catch (GbException e) {
+                storage.setReadOnly();
+                ui.showPartialLoadError();
+            } finally {
+                taskList.finishLoading();
+            }
+        }, "gb-task-loader");
+        loader.setDaemon(true);
+        loader.start();
     }
 
     /**
@@ -48,26 +129,61 @@ public class GbTheFatBoy {
      */
     public void run() {
         ui.showWelcome();
-        boolean isExit = false;
+        while (!isShutdown) {
+            String fullCommand = ui.readCommand();
+            ui.showResult(execute(fullCommand));
+            saveTasksIfDue();
+        }
+        writeStats();
+    }
 
-        while (!isExit) {
-            try {
-                String fullCommand = ui.readCommand();
-                Command command = Parser.parse(fullCommand);
-                executeCommand(command);
-                isExit = command.isExit();
+    /**
+     * Runs every command read from the input, one per line, through the same path as {@link #run()}.
+     * Journal records are buffered rather than flushed per command, and the task list is saved
+     * once at the end, or additionally every {@code saveEvery} commands if that is positive.
+     * A BYE command ends the batch early. Prints a throughput summary when done.
+     *
+     * @param input The commands to run.
+     * @param saveEvery The number of commands between intermediate saves, or 0 to save only at the end.
+     * @return What the batch did.
+     * @throws IOException If the input cannot be read.
+     */
+    public BatchSummary runBatch(BufferedReader input, int saveEvery) throws IOException {
+        long startNanos = System.nanoTime();
+        long savesBefore = storage.getPersistenceStats().getFlushCount();
+        int commandCount = 0;
+        int rejectedCount = 0;
+        int intermediateSaveCount = 0;
 
-                // Save after each command (except BYE)
-                if (!isExit) {
-                    saveTasksToStorage();
+        storage.beginBatch();
+        try {
+            String line;
+            while (!isShutdown && (line = input.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                commandCount++;
+                CommandResult result = execute(line);
+                ui.showResult(result);
+                if (result.isError()) {
+                    rejectedCount++;
+                }
+                if (saveEvery > 0 && commandCount % saveEvery == 0 && !isShutdown
+                        && !taskList.isLoading() && storage.hasUnsavedChanges()) {
+                    storage.saveTasksAsync(taskList.snapshotTasks());
+                    intermediateSaveCount++;
                 }
-
-            } catch (IllegalArgumentException ie) {
-                ui.showInvalidCommand();
-            } catch (GbException e) {
-                ui.showError(e.getMessage());
             }
+        } finally {
+            storage.endBatch();
+            shutdown();
+            writeStats();
         }
+
+        long saveCount = storage.getPersistenceStats().getFlushCount() - savesBefore;
+        long elapsedNanos = System.nanoTime() - startNanos;
+        ui.showBatchSummary(commandCount, rejectedCount, elapsedNanos, saveCount);
+        return new BatchSummary(commandCount, rejectedCount, intermediateSaveCount, saveCount, elapsedNanos);
     }
 
     /**
@@ -78,371 +194,85 @@ public class GbTheFatBoy {
      * @return The response string to display in the GUI.
      */
     public String getResponse(String input) {
-        try {
-            Command command = Parser.parse(input);
-            String response = executeCommandForGui(command);
-
-            // Save after each command (except BYE)
-            if (!command.isExit()) {
-                saveTasksToStorage();
-            }
-
-            return response;
-
-        } catch (IllegalArgumentException ie) {
-            return "Invalid command\n"
-                + "Valid commands: todo, deadline, event, list, mark, unmark, delete, "
-                             + "find-date, find, bye";
-        } catch (GbException e) {
-            return e.getMessage();
+        CommandResult result = execute(input);
+        saveTasksIfDue();
+        if (isShutdown) {
+            writeStats();
         }
+        return result.getText();
     }
 
     /**
-     * Executes a parsed command and returns the response string for GUI.
-     * Similar to executeCommand but returns strings instead of using UI directly.
+     * Parses and runs one line of input, turning any error into the result to show instead.
      *
-     * @param command The command to execute.
-     * @return The response string.
-     * @throws GbException If there's an error executing the command.
+     * @param input The user input command string.
+     * @return The result of the command.
      */
-    private String executeCommandForGui(Command command) throws GbException {
-        switch (command.getType()) {
-            case TODO -> {
-                try {
-                    Todo todo = Parser.parseTodo(command.getArguments());
-                    taskList.add(todo);
-                    return String.format("Got it. I've added this task:\n  %s\nNow you have %d tasks in the list.",
-                            todo, taskList.getSize());
-                } catch (GbException e) {
-                    if (e.getMessage().startsWith("Invalid Todo")) {
-                        return "Task description cannot be empty!\n"
-                                + "Input todo in format: todo <task>\n"
-                                + "Example:\n"
-                                + "todo borrow book";
-                    }
-                    throw e;
-                }
-            }
-            case DEADLINE -> {
-                try {
-                    Deadline deadline = Parser.parseDeadline(command.getArguments());
-                    taskList.add(deadline);
-                    return String.format("Got it. I've added this task:\n  %s\nNow you have %d tasks in the list.",
-                            deadline, taskList.getSize());
-                } catch (GbException e) {
-                    if (e.getMessage().equals("Invalid deadline format")) {
-                        return "Input deadline in below format:\n"
-                                + "deadline <task> /by <date> [time]\n"
-                                + "Examples:\n"
-                                + "deadline return book /by 2019-12-02\n"
-                                + "deadline submit report /by 2/12/2019 1800\n"
-                                + "deadline meeting /by 15/10/2019 2:30PM";
-                    } else if (e.getMessage().equals("Task description and deadline cannot be empty")) {
-                        return "Task description and deadline cannot be empty!";
-                    } else if (e.getMessage().startsWith("Invalid date/time format")) {
-                        return "Invalid date/time format: " + command.getArguments() + "\n"
-                                + "Supported formats: yyyy-MM-dd, dd/MM/yyyy, MM/dd/yyyy\n"
-                                + "Time formats: HHmm, HH:mm, h:mma, ha (optional)";
-                    } else {
-                        throw e;
-                    }
-                }
-            }
-            case EVENT -> {
-                try {
-                    Event event = Parser.parseEvent(command.getArguments());
-                    taskList.add(event);
-                    return String.format("Got it. I've added this task:\n  %s\nNow you have %d tasks in the list.",
-                            event, taskList.getSize());
-                } catch (GbException e) {
-                    if (e.getMessage().equals("Invalid event format")) {
-                        return "Input event in the below format:\n"
-                                + "event <event name> /from <start date-time> /to <end date-time>\n"
-                                + "Examples:\n"
-                                + "event project meeting /from 2019-10-15 1400 /to 2019-10-15 1600\n"
-                                + "event conference /from 15/10/2019 2:00PM /to 17/10/2019 5:00PM";
-                    } else if (e.getMessage().equals("Event description and dates cannot be empty")) {
-                        return "Event description and dates cannot be empty!";
-                    } else if (e.getMessage().equals("End date/time cannot be before start date/time")) {
-                        return "End date/time cannot be before start date/time!";
-                    } else if (e.getMessage().startsWith("Invalid date/time format")) {
-                        return "Invalid date/time format: " + command.getArguments() + "\n"
-                                + "Supported formats: yyyy-MM-dd, dd/MM/yyyy, MM/dd/yyyy\n"
-                                + "Time formats: HHmm, HH:mm, h:mma, ha (optional)";
-                    } else {
-                        throw e;
-                    }
-                }
-            }
-            case LIST -> {
-                if (taskList.getTasks().isEmpty()) {
-                    return "You have no tasks in your list.";
-                }
-                StringBuilder response = new StringBuilder("Here are the tasks in your list:\n");
-                for (int i = 0; i < taskList.getTasks().size(); i++) {
-                    response.append(String.format("%d. %s\n", i + 1, taskList.getTasks().get(i)));
-                }
-                return response.toString().trim();
-            }
-            case MARK -> {
-                try {
-                    int index = Parser.parseTaskIndex(command.getArguments());
-                    taskList.mark(index);
-                    Task task = taskList.getTask(index);
-                    return String.format("Nice! I've marked this task as done:\n  %s", task);
-                } catch (GbException e) {
-                    if (e.getMessage().equals("Invalid task index")) {
-                        if (taskList.getSize() == 0) {
-                            return "Invalid index!\nThere are no tasks in your list!";
-                        } else {
-                            return String.format("Invalid index!\nPlease enter a number from 1 to %d", taskList.getSize());
-                        }
-                    } else {
-                        return "Invalid number format for task index.\nEnter a whole number please";
-                    }
-                }
-            }
-            case UNMARK -> {
-                try {
-                    int index = Parser.parseTaskIndex(command.getArguments());
-                    taskList.unmark(index);
-                    Task task = taskList.getTask(index);
-                    return String.format("OK, I've marked this task as not done yet:\n  %s", task);
-                } catch (GbException e) {
-                    if (e.getMessage().equals("Invalid task index")) {
-                        if (taskList.getSize() == 0) {
-                            return "Invalid index!\nThere are no tasks in your list!";
-                        } else {
-                            return String.format("Invalid index!\nPlease enter a number from 1 to %d", taskList.getSize());
-                        }
-                    } else {
-                        return "Invalid number format for task index.\nEnter a whole number please";
-                    }
-                }
-            }
-            case DELETE -> {
-                try {
-                    int index = Parser.parseTaskIndex(command.getArguments());
-                    Task deletedTask = taskList.delete(index);
-                    return String.format("Noted. I've removed this task:\n  %s\nNow you have %d tasks in the list.",
-                            deletedTask, taskList.getSize());
-                } catch (GbException e) {
-                    if (e.getMessage().equals("Invalid task index")) {
-                        if (taskList.getSize() == 0) {
-                            return "Invalid index!\nThere are no tasks in your list!";
-                        } else {
-                            return String.format("Invalid index!\nPlease enter a number from 1 to %d", taskList.getSize());
-                        }
-                    } else {
-                        return "Invalid number format for task index.\nEnter a whole number please";
-                    }
-                }
-            }
-            case FIND_DATE -> {
-                try {
-                    LocalDate targetDate = Parser.parseDate(command.getArguments());
-                    var tasks = taskList.findTasksByDate(targetDate);
-                    if (tasks.isEmpty()) {
-                        return String.format("No tasks found on %s.", targetDate);
-                    }
-                    StringBuilder response = new StringBuilder(String.format("Tasks on %s:\n",
-                            targetDate.format(java.time.format.DateTimeFormatter.ofPattern("MMM dd yyyy"))));
-                    for (int i = 0; i < tasks.size(); i++) {
-                        response.append(String.format("%d. %s\n", i + 1, tasks.get(i)));
-                    }
-                    return response.toString().trim();
-                } catch (GbException e) {
-                    if (e.getMessage().startsWith("Invalid date format")
-                            || e.getMessage().startsWith("Date cannot be empty")) {
-                        return e.getMessage() + "\n"
-                                + "Supported formats: yyyy-MM-dd, dd/MM/yyyy, MM/dd/yyyy\n"
-                                + "Example: find-date 2019-12-02";
-                    }
-                    throw e;
-                }
-            }
-            case FIND -> {
-                String keyword = command.getArguments();
-                ArrayList<Task> tasks = taskList.findTasksByKeyword(keyword);
-                if (tasks.isEmpty()) {
-                    return "No tasks found on this date.";
-                }
-                StringBuilder response = new StringBuilder("Here are the matching tasks in your list:\n");
-                for (int i = 0; i < tasks.size(); i++) {
-                    response.append(String.format("%d. %s\n", i + 1, tasks.get(i)));
-                }
-                return response.toString().trim();
-            }
-            case TAG -> {
-                String tagIndexAndDesc = command.getArguments();
-                try {
-                    Tag tagObj = Parser.parseTag(tagIndexAndDesc);
-                    int index = tagObj.getIndex();
-                    String tagMessage = tagObj.getTagMessage();
+    public CommandResult execute(String input) {
+        long start = System.nanoTime();
+        Command command;
+        try {
+            command = Parser.parse(input);
+        } catch (IllegalArgumentException ie) {
+            metrics.recordParse(null, System.nanoTime() - start);
+            return ErrorResults.INVALID_COMMAND;
+        } catch (GbException e) {
+            metrics.recordParse(null, System.nanoTime() - start);
+            return ErrorResults.of(null, e, taskList.getSize());
+        }
+        metrics.recordParse(command.getType(), System.nanoTime() - start);
+        return execute(command);
+    }
 
-                    Task target = taskList.getTask(index);
-                    target.setDescription(target.getDescription() + " " + tagMessage);
-                    return String.format("Got it. I've tagged this task:\n  %s", target);
-                } catch (GbException e) {
-                    if (e.getMessage().startsWith("Invalid index")
-                            || e.getMessage().startsWith("tag index and message")) {
-                        return e.getMessage() + "\n"
-                                + "Tag format: tag <itemNumber> <tagMessage>\n"
-                                + "Example: tag 2 #fun";
-                    } else if (e.getMessage().startsWith("Index")) {
-                        return "Please enter an itemNumber from 1 to " + (taskList.getSize() + 1)
-                                + "\nExample: tag 1 #work";
-                    }
-                    return "Tagging failed: " + e.getMessage();
-                }
-            }
-            case BYE -> {
-                return "Bye. Hope to see you again soon!";
-            }
-            default -> {
-                return "Unknown command: " + command.getType();
-            }
+    private CommandResult execute(Command command) {
+        try {
+            return commands.execute(command);
+        } catch (GbException e) {
+            return ErrorResults.of(command, e, taskList.getSize());
         }
     }
 
     /**
-     * Executes a parsed command by delegating to the appropriate handler.
-     * Handles all command types and their specific error conditions.
-     *
-     * @param command The command to execute.
-     * @throws GbException If there's an error executing the command.
+     * Hands the task list to the background snapshot writer when a save is due.
+     * Every change is already journaled, so this only bounds how much has to be replayed.
      */
-    private void executeCommand(Command command) throws GbException {
-        switch (command.getType()) {
-        case TODO -> {
-            try {
-                Todo todo = Parser.parseTodo(command.getArguments());
-                taskList.add(todo);
-                ui.showTaskAdded(todo, taskList.getSize());
-            } catch (GbException e) {
-                if (e.getMessage().startsWith("Invalid Todo")) {
-                    ui.showEmptyDescription();
-                }
-            }
-
+    private void saveTasksIfDue() {
+        if (!taskList.isLoading() && storage.isSaveDue()) {
+            storage.saveTasksAsync(taskList.snapshotTasks());
         }
-        case DEADLINE -> {
-            try {
-                Deadline deadline = Parser.parseDeadline(command.getArguments());
-                taskList.add(deadline);
-                ui.showTaskAdded(deadline, taskList.getSize());
-            } catch (GbException e) {
-                if (e.getMessage().equals("Invalid deadline format")) {
-                    ui.showDeadlineFormat();
-                } else if (e.getMessage().equals("Task description and deadline cannot be empty")) {
-                    ui.showEmptyTaskDetails();
-                } else if (e.getMessage().startsWith("Invalid date/time format")) {
-                    ui.showDateTimeFormatError(command.getArguments());
-                } else {
-                    throw e;
-                }
-            }
-        }
-        case EVENT -> {
-            try {
-                Event event = Parser.parseEvent(command.getArguments());
-                taskList.add(event);
-                ui.showTaskAdded(event, taskList.getSize());
-            } catch (GbException e) {
-                if (e.getMessage().equals("Invalid event format")) {
-                    ui.showEventFormat();
-                } else if (e.getMessage().equals("Event description and dates cannot be empty")) {
-                    ui.showEmptyEventDetails();
-                } else if (e.getMessage().equals("End date/time cannot be before start date/time")) {
-                    ui.showEndTimeBeforeStartTime();
-                } else if (e.getMessage().startsWith("Invalid date/time format")) {
-                    ui.showDateTimeFormatError(command.getArguments());
-                } else {
-                    throw e;
-                }
-            }
-        }
-        case LIST -> {
-            ui.showTaskList(taskList.getTasks());
-        }
-        case MARK -> {
-            try {
-                int index = Parser.parseTaskIndex(command.getArguments());
-                taskList.mark(index);
-                Task task = taskList.getTask(index);
-                ui.showTaskMarked(task);
-            } catch (GbException e) {
-                if (e.getMessage().equals("Invalid task index")) {
-                    ui.showInvalidIndex(taskList.getSize());
-                } else {
-                    ui.showInvalidNumberFormat();
-                }
-            }
-        }
-        case UNMARK -> {
-            try {
-                int index = Parser.parseTaskIndex(command.getArguments());
-                taskList.unmark(index);
-                Task task = taskList.getTask(index);
-                ui.showTaskUnmarked(task);
-            } catch (GbException e) {
-                if (e.getMessage().equals("Invalid task index")) {
-                    ui.showInvalidIndex(taskList.getSize());
-                } else {
-                    ui.showInvalidNumberFormat();
-                }
-            }
-        }
-        case DELETE -> {
-            try {
-                int index = Parser.parseTaskIndex(command.getArguments());
-                Task deletedTask = taskList.delete(index);
-                ui.showTaskDeleted(deletedTask, taskList.getSize());
-            } catch (GbException e) {
-                if (e.getMessage().equals("Invalid task index")) {
-                    ui.showInvalidIndex(taskList.getSize());
-                } else {
-                    ui.showInvalidNumberFormat();
-                }
-            }
-        }
-        case FIND_DATE -> {
-            try {
-                LocalDate targetDate = Parser.parseDate(command.getArguments());
-                ui.showTasksOnDate(taskList.findTasksByDate(targetDate), targetDate);
-            } catch (GbException e) {
-                if (e.getMessage().startsWith("Invalid date format")) {
-                    ui.showError(e.getMessage());
-                    ui.showFindDateFormat();
-                } else if (e.getMessage().startsWith("Date cannot be empty")) {
-                    ui.showError(e.getMessage());
-                    ui.showFindDateFormat();
-                }
-            }
-        }
-        case FIND -> {
-            String keyword = command.getArguments();
-            ui.showTasksWithKey(taskList.findTasksByKeyword(keyword), keyword);
-        }
-        case BYE -> {
-            ui.showGoodbye();
-        }
-        default -> {
-            System.out.println("unknown command: " + command.getType());
+    }
+
+    /**
+     * Writes a final snapshot of unsaved changes and stops the storage writer.
+     * The snapshot is taken with {@link TaskList#snapshotTasks()}, which blocks until a background
+     * load has finished; nothing is saved if that load failed, see {@link Storage#setReadOnly()}.
+     * Called on BYE and from the JVM shutdown hook, see {@link #addShutdownHook()}; later calls do nothing.
+     */
+    public synchronized void shutdown() {
+        if (isShutdown) {
+            return;
         }
+        isShutdown = true;
+        if (storage.hasUnsavedChanges()) {
+            storage.saveTasksAsync(taskList.snapshotTasks());
         }
+        storage.close();
     }
 
     /**
-     * Saves the current task list to persistent storage.
-     * Displays an error message if saving fails.
+     * Writes the command metrics to {@value #STATS_FILE_NAME} next to the data file.
+     * Called once the command that ended the session has returned, so that it is counted too;
+     * later calls do nothing.
      */
-    private void saveTasksToStorage() {
+    private synchronized void writeStats() {
+        if (isStatsWritten) {
+            return;
+        }
+        isStatsWritten = true;
         try {
-            storage.saveTasks(taskList.getTasks());
-        } catch (GbException e) {
-            ui.showError("Failed to save tasks: " + e.getMessage());
+            metrics.dump(statsPath);
+        } catch (IOException e) {
+            System.err.println("Error writing stats: " + e.getMessage());
         }
     }
 
@@ -455,14 +285,59 @@ public class GbTheFatBoy {
     }
 
     /**
-     * No longer the main entry point for the app with the implementation of JavaFx
-     * The main entry point is now through Launcher.main.
-     * This method is never called.
+     * Entry point for the text interface; the GUI starts through Launcher.main instead,
+     * which hands batch runs over to this method.
+     * With {@code --batch <file>} or {@code --batch -}, runs the commands in the file or on standard input
+     * and exits; {@code --save-every <n>} additionally saves every n commands, and is only accepted with
+     * {@code --batch}.
+     * {@code --format text|binary} picks the format the data file is saved in, and
+     * {@code --layout objects|columns} how tasks are kept in memory.
      *
-     * @param args Command line arguments (not used).
+     * @param args Command line arguments.
      */
     public static void main(String[] args) {
-        new GbTheFatBoy("./data/Gbot.txt").run();
+        String batchSource = null;
+        int saveEvery = 0;
+        boolean isSaveEveryGiven = false;
+        SnapshotFormat format = SnapshotFormat.forPath(DEFAULT_DATA_FILE);
+        TaskLayout layout = TaskLayout.OBJECTS;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--batch" -> batchSource = args[++i];
+                case "--save-every" -> {
+                    saveEvery = Integer.parseInt(args[++i]);
+                    isSaveEveryGiven = true;
+                }
+                case "--format" -> format = SnapshotFormat.fromName(args[++i]);
+                case "--layout" -> layout = TaskLayout.fromName(args[++i]);
+                default -> throw new IllegalArgumentException(args[i]);
+                }
+            }
+            if (isSaveEveryGiven && (saveEvery < 0 || batchSource == null)) {
+                throw new IllegalArgumentException("--save-every");
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println("Usage: [--batch <file>|- [--save-every <n>]] [--format text|binary]"
+                    + " [--layout objects|columns]");
+            System.exit(2);
+        }
+
+        GbTheFatBoy app = new GbTheFatBoy(DEFAULT_DATA_FILE, format, layout);
+        app.addShutdownHook();
+        if (batchSource == null) {
+            app.run();
+            return;
+        }
+        try (BufferedReader input = batchSource.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(batchSource), StandardCharsets.UTF_8)) {
+            app.runBatch(input, saveEvery);
+        } catch (IOException e) {
+            System.err.println("Error reading batch input: " + e.getMessage());
+            app.shutdown();
+            System.exit(1);
+        }
     }
 
 }
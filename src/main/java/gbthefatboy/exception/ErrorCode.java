@@ -0,0 +1,52 @@
+package gbthefatboy.exception;
+
+/**
+ * Enumeration of the reasons a {@link GbException} can be thrown.
+ * Each code carries the template of its message; {@code %s} placeholders are filled in from the
+ * payload of the exception when the message is first asked for.
+ */
+public enum ErrorCode {
+    EMPTY_COMMAND("Invalid command: empty command"),
+    EMPTY_TODO("Invalid Todo: description cannot be empty!"),
+    EMPTY_DESCRIPTION("Invalid description: task description cannot be empty!"),
+    INVALID_DEADLINE_FORMAT("Invalid deadline format"),
+    EMPTY_DEADLINE("Task description and deadline cannot be empty"),
+    INVALID_EVENT_FORMAT("Invalid event format"),
+    EMPTY_EVENT("Event description and dates cannot be empty"),
+    END_BEFORE_START("End date/time cannot be before start date/time"),
+    INVALID_DATE_TIME("Invalid date/time format %s"),
+    EMPTY_INDEX("Index cannot be empty!"),
+    INVALID_INDEX_FORMAT("Invalid index: index must be a whole number!"),
+    INVALID_TASK_INDEX("Invalid task index"),
+    INDEX_OUT_OF_BOUNDS("Index %s out of bounds for length %s"),
+    EMPTY_TAG("tag index and message cannot be empty!"),
+    INVALID_TAG_INDEX("Invalid index. Index must be a whole number!"),
+    EMPTY_KEYWORD("Keyword cannot be empty!"),
+    EMPTY_DATE("Date cannot be empty"),
+    INVALID_DATE("Invalid date format: %s"),
+    INVALID_DATE_RANGE("Invalid date range: %s is before %s"),
+    INVALID_LIST_OPTION("Invalid list option: %s"),
+    INVALID_FILTER_OPTION("Invalid filter option: %s"),
+    PAGE_OUT_OF_RANGE("There is no page %s: the list has %s page(s)"),
+    STORAGE("%s");
+
+    private final String template;
+
+    ErrorCode(String template) {
+        this.template = template;
+    }
+
+    public String getTemplate() {
+        return this.template;
+    }
+
+    /**
+     * Returns the message for this code with the given payload filled into its template.
+     *
+     * @param payload The values for the placeholders of the template, in order.
+     * @return The message.
+     */
+    public String format(Object... payload) {
+        return payload.length == 0 ? template : String.format(template, payload);
+    }
+}
@@ -1,17 +1,88 @@
 package gbthefatboy.exception;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 /**
  * Custom exception class for GbTheFatBoy application-specific errors.
  * Extends Exception to provide meaningful error messages for application failures.
+ *
+ * <p>Every exception carries an {@link ErrorCode} that callers switch on to decide how to respond,
+ * and the values its message is built from. Exceptions for invalid user input are thrown for
+ * every rejected command and caught right away, so they skip capturing a stack trace and only
+ * format their message if it is asked for.
+ *
+ * <p>The payload may hold values that are not serializable, so it is not serialized; the message is
+ * formatted before the exception is written instead, and a deserialized exception has no payload.
  */
 public class GbException extends Exception {
 
+    private static final long serialVersionUID = 1L;
+    private static final Object[] NO_PAYLOAD = new Object[0];
+
+    private final ErrorCode code;
+    private transient Object[] payload;
+    private String message;
+
     /**
      * Creates a new GBException with the specified error message.
+     * Used for storage failures, which keep their stack trace.
      *
      * @param message The error message describing what went wrong.
      */
     public GbException(String message) {
         super(message);
+        this.code = ErrorCode.STORAGE;
+        this.payload = new Object[] {message};
+        this.message = message;
+    }
+
+    /**
+     * Creates a new GbException for invalid input, without a stack trace.
+     *
+     * @param code The reason for the exception.
+     * @param payload The values filled into the message template of the code.
+     */
+    public GbException(ErrorCode code, Object... payload) {
+        super(null, null, false, false);
+        this.code = code;
+        this.payload = payload.length == 0 ? NO_PAYLOAD : payload;
+    }
+
+    public ErrorCode getCode() {
+        return this.code;
+    }
+
+    /**
+     * Returns the value at the given position of the payload.
+     *
+     * @param index The 0-based position in the payload.
+     * @return The value.
+     */
+    public Object getPayload(int index) {
+        return payload[index];
+    }
+
+    public int getPayloadSize() {
+        return payload.length;
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = code.format(payload);
+        }
+        return message;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        payload = NO_PAYLOAD;
     }
 }
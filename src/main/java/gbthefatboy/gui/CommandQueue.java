@@ -0,0 +1,67 @@
+package gbthefatboy.gui;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs the commands typed into the GUI on a worker thread and hands each response back through a
+ * publisher, normally the JavaFX application thread.
+ * Parsing, executing and saving stay off the application thread, so the window keeps responding
+ * while a long search or save is running. There is a single worker, so commands run one at a time
+ * in the order they were submitted and their responses are published in the same order.
+ */
+class CommandQueue {
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gb-command");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Function<String, String> responder;
+    private final Executor publisher;
+
+    /**
+     * Creates a queue running commands through the given responder.
+     *
+     * @param responder Turns a command into its response; called on the worker thread.
+     * @param publisher Runs the response callbacks, e.g. {@code Platform::runLater}.
+     */
+    CommandQueue(Function<String, String> responder, Executor publisher) {
+        this.responder = responder;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Queues a command behind any still running and returns straight away.
+     *
+     * @param input The command typed by the user.
+     * @param onResponse Receives the response, through the publisher.
+     */
+    void submit(String input, Consumer<String> onResponse) {
+        worker.execute(() -> {
+            String response = respond(input);
+            publisher.execute(() -> onResponse.accept(response));
+        });
+    }
+
+    /**
+     * Returns the response to a command, or the error that stopped it, so a failing command still
+     * gets a reply rather than leaving its pending message in place.
+     */
+    private String respond(String input) {
+        try {
+            return responder.apply(input);
+        } catch (RuntimeException e) {
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Stops accepting commands; those already queued still run.
+     */
+    void shutdown() {
+        worker.shutdown();
+    }
+}
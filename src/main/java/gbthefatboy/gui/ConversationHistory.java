@@ -0,0 +1,92 @@
+package gbthefatboy.gui;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the messages shown in the conversation view to a bounded number.
+ * When more than the limit are shown, the oldest are moved out of the view into an archive,
+ * from which they can be brought back a page at a time. The archive is bounded as well, dropping
+ * the oldest messages once full, so a long session holds on to a fixed amount of text.
+ */
+class ConversationHistory {
+    private final List<Message> shown;
+    private final Deque<Message> archived = new ArrayDeque<>();
+    private final int maxShown;
+    private final int maxArchived;
+
+    /**
+     * Creates a history managing the given list of shown messages.
+     *
+     * @param shown The messages shown in the view, oldest first; usually the items of a list view.
+     * @param maxShown The number of messages kept in the view when new ones are added.
+     * @param maxArchived The number of older messages kept for bringing back into the view.
+     */
+    ConversationHistory(List<Message> shown, int maxShown, int maxArchived) {
+        this.shown = shown;
+        this.maxShown = maxShown;
+        this.maxArchived = maxArchived;
+    }
+
+    /**
+     * Adds messages after the newest one, archiving the oldest shown messages if there are too many.
+     *
+     * @param messages The messages to add, in order.
+     */
+    void append(Message... messages) {
+        shown.addAll(List.of(messages));
+        int excess = shown.size() - maxShown;
+        if (excess <= 0) {
+            return;
+        }
+        List<Message> oldest = shown.subList(0, excess);
+        archived.addAll(oldest);
+        oldest.clear();
+        while (archived.size() > maxArchived) {
+            archived.removeFirst();
+        }
+    }
+
+    /**
+     * Puts a message in place of another, wherever it is now, e.g. a response in place of the
+     * message shown while it was pending. Does nothing if the old message has been dropped.
+     *
+     * @param old The message to replace.
+     * @param replacement The message to put in its place.
+     */
+    void replace(Message old, Message replacement) {
+        for (int i = shown.size() - 1; i >= 0; i--) {
+            if (shown.get(i) == old) {
+                shown.set(i, replacement);
+                return;
+            }
+        }
+        for (int i = archived.size(); i > 0; i--) {
+            Message message = archived.removeFirst();
+            archived.addLast(message == old ? replacement : message);
+        }
+    }
+
+    boolean hasArchived() {
+        return !archived.isEmpty();
+    }
+
+    /**
+     * Moves the newest archived messages back into the view, before the messages shown.
+     *
+     * @param count The maximum number of messages to bring back.
+     * @return The number of messages brought back.
+     */
+    int restore(int count) {
+        List<Message> restored = new ArrayList<>(Math.min(count, archived.size()));
+        while (restored.size() < count && !archived.isEmpty()) {
+            restored.add(archived.removeLast());
+        }
+        Collections.reverse(restored);
+        shown.addAll(0, restored);
+        return restored.size();
+    }
+}
@@ -1,60 +1,61 @@
 package gbthefatboy.gui;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ * A dialog box is created once per conversation cell and then reused for whichever message
+ * the cell is showing. Its nodes are built directly rather than loaded from FXML, so creating
+ * one costs only the nodes themselves.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+    private static final double PICTURE_SIZE = 99.0;
+    private static final double DEFAULT_WIDTH = 400.0;
+    private static final Insets PADDING = new Insets(15.0, 5.0, 15.0, 5.0);
 
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        dialog.setText(text);
-        displayPicture.setImage(img);
-    }
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Creates an empty dialog box.
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+    public DialogBox() {
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.setWrapText(true);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+
+        setAlignment(Pos.TOP_RIGHT);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(DEFAULT_WIDTH);
+        setPadding(PADDING);
+        getChildren().addAll(dialog, displayPicture);
     }
 
-    public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
-    }
-
-    public static DialogBox getGbTheFatBoyDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        return db;
+    /**
+     * Shows a message in the dialog box. Messages from the user have the picture on the right and
+     * messages from GbTheFatBoy have it on the left.
+     *
+     * @param text The text of the message.
+     * @param img The picture of the speaker.
+     * @param isFromUser Whether the user sent the message.
+     */
+    public void show(String text, Image img, boolean isFromUser) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+        boolean isPictureFirst = getChildren().get(0) == displayPicture;
+        if (isFromUser == isPictureFirst) {
+            getChildren().setAll(isFromUser ? dialog : displayPicture, isFromUser ? displayPicture : dialog);
+        }
+        setAlignment(isFromUser ? Pos.TOP_RIGHT : Pos.TOP_LEFT);
     }
 }
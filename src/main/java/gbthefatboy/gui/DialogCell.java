@@ -0,0 +1,46 @@
+package gbthefatboy.gui;
+
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * Cell of the conversation view. The list view only creates enough cells to fill the window
+ * and reuses them as it scrolls, so each cell keeps one dialog box and updates it in place.
+ */
+class DialogCell extends ListCell<Message> {
+    // Room left for the vertical scroll bar, so dialog boxes never need a horizontal one
+    private static final double SCROLL_BAR_ALLOWANCE = 20;
+
+    private final DialogBox dialogBox = new DialogBox();
+    private final Image userImage;
+    private final Image gbTheFatBoyImage;
+
+    /**
+     * Creates a cell whose dialog box follows the width of the conversation view.
+     *
+     * @param userImage The picture shown with the user's messages.
+     * @param gbTheFatBoyImage The picture shown with GbTheFatBoy's messages.
+     * @param viewWidth The width of the conversation view.
+     */
+    DialogCell(Image userImage, Image gbTheFatBoyImage, ReadOnlyDoubleProperty viewWidth) {
+        this.userImage = userImage;
+        this.gbTheFatBoyImage = gbTheFatBoyImage;
+        dialogBox.prefWidthProperty().bind(viewWidth.subtract(SCROLL_BAR_ALLOWANCE));
+        setPrefWidth(0);
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    @Override
+    protected void updateItem(Message message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        dialogBox.show(message.getText(), message.isFromUser() ? userImage : gbTheFatBoyImage,
+                message.isFromUser());
+        setGraphic(dialogBox);
+    }
+}
@@ -0,0 +1,27 @@
+package gbthefatboy.gui;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.scene.image.Image;
+
+/**
+ * Shared cache of the images bundled with the application, so each picture is read and decoded
+ * once however many windows and dialog boxes show it.
+ */
+final class ImageCache {
+    private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+
+    private ImageCache() {
+    }
+
+    /**
+     * Returns the image at the given resource path, decoding it on first use.
+     *
+     * @param path The absolute resource path, e.g. {@code /images/fatgb.jpg}.
+     * @return The decoded image.
+     */
+    static Image get(String path) {
+        return IMAGES.computeIfAbsent(path, key -> new Image(ImageCache.class.getResourceAsStream(key)));
+    }
+}
@@ -1,12 +1,27 @@
 package gbthefatboy.gui;
 
+import java.util.Arrays;
+
 import javafx.application.Application;
 
+import gbthefatboy.entry.GbTheFatBoy;
+
 /**
  * Launcher class to workaround classpath issues.
+ * Batch runs ({@code --batch <file>|-}) skip the GUI and go to the text interface; other options,
+ * such as {@code --format text|binary}, are handed to the GUI.
  */
 public class Launcher {
+    /**
+     * Starts the GUI, or runs a batch of commands without it.
+     *
+     * @param args Command line arguments.
+     */
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--batch")) {
+            GbTheFatBoy.main(args);
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
@@ -1,8 +1,11 @@
 package gbthefatboy.gui;
 
 import java.io.IOException;
+import java.util.List;
 
 import gbthefatboy.entry.GbTheFatBoy;
+import gbthefatboy.storage.SnapshotFormat;
+import gbthefatboy.storage.TaskLayout;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -11,13 +14,18 @@ import javafx.stage.Stage;
 
 /**
  * A GUI for GbTheFatBoy using FXML.
+ * Accepts {@code --format text|binary} to pick the format the data file is saved in, and
+ * {@code --layout objects|columns} to pick how tasks are kept in memory.
  */
 public class Main extends Application {
 
-    private GbTheFatBoy gbTheFatBoy = new GbTheFatBoy("./data/Gbot.txt");
+    private GbTheFatBoy gbTheFatBoy;
 
     @Override
     public void start(Stage stage) {
+        List<String> args = getParameters().getRaw();
+        gbTheFatBoy = new GbTheFatBoy(GbTheFatBoy.DEFAULT_DATA_FILE, readFormat(args), readLayout(args));
+        gbTheFatBoy.addShutdownHook();
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
@@ -30,4 +38,28 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    private static SnapshotFormat readFormat(List<String> args) {
+        int option = args.indexOf("--format");
+        if (option >= 0 && option + 1 < args.size()) {
+            try {
+                return SnapshotFormat.fromName(args.get(option + 1));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown format " + args.get(option + 1) + ", expected text or binary");
+            }
+        }
+        return SnapshotFormat.forPath(GbTheFatBoy.DEFAULT_DATA_FILE);
+    }
+
+    private static TaskLayout readLayout(List<String> args) {
+        int option = args.indexOf("--layout");
+        if (option >= 0 && option + 1 < args.size()) {
+            try {
+                return TaskLayout.fromName(args.get(option + 1));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown layout " + args.get(option + 1) + ", expected objects or columns");
+            }
+        }
+        return TaskLayout.OBJECTS;
+    }
 }
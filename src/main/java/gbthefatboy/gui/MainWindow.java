@@ -1,74 +1,110 @@
 package gbthefatboy.gui;
 
 import gbthefatboy.entry.GbTheFatBoy;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 
 
 /**
  * Controller for the main GUI.
+ * The conversation is shown in a list view, which only creates nodes for the messages on screen.
+ * Only the most recent messages are kept in the view; older ones can be brought back a page at a time.
+ * Commands run on a worker thread, so the window stays responsive while they do.
  */
 public class MainWindow extends AnchorPane {
+    private static final int MAX_SHOWN_MESSAGES = 200;
+    private static final int MAX_ARCHIVED_MESSAGES = 5000;
+    private static final int RESTORE_PAGE_SIZE = 50;
+    private static final String PENDING_TEXT = "...";
+    private static final Duration EXIT_DELAY = Duration.millis(2500);
+    private static final String USER_IMAGE_PATH = "/images/legitness.jpg";
+    private static final String GB_THE_FAT_BOY_IMAGE_PATH = "/images/fatgb.jpg";
+
     @FXML
-    private ScrollPane scrollPane;
+    private ListView<Message> dialogList;
     @FXML
-    private VBox dialogContainer;
+    private Button showEarlierButton;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private GbTheFatBoy gbTheFatBoy;
+    private ConversationHistory history;
+    private CommandQueue commandQueue;
 
-    private Image userImage = new Image(this.getClass().getResourceAsStream("/images/legitness"
-            + ".jpg"));
-    private Image gbTheFatBoyImage = new Image(this.getClass().getResourceAsStream("/images/fatgb"
-            + ".jpg"));
+    private final Image userImage = ImageCache.get(USER_IMAGE_PATH);
+    private final Image gbTheFatBoyImage = ImageCache.get(GB_THE_FAT_BOY_IMAGE_PATH);
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        history = new ConversationHistory(dialogList.getItems(), MAX_SHOWN_MESSAGES, MAX_ARCHIVED_MESSAGES);
+        dialogList.setCellFactory(list -> new DialogCell(userImage, gbTheFatBoyImage, list.widthProperty()));
     }
 
     /** Injects the GbTheFatBoy instance */
     public void setGbTheFatBoy(GbTheFatBoy gb) {
         gbTheFatBoy = gb;
+        commandQueue = new CommandQueue(gbTheFatBoy::getResponse, Platform::runLater);
         // Show welcome message when the application starts
-        dialogContainer.getChildren().addAll(
-                DialogBox.getGbTheFatBoyDialog(gbTheFatBoy.getWelcomeMessage(), gbTheFatBoyImage)
-        );
+        show(Message.fromGbTheFatBoy(gbTheFatBoy.getWelcomeMessage()));
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing GbTheFatBoy's reply
-     * and then appends them to the dialog container. Clears the user input after processing.
+     * Adds the user input to the conversation with a pending reply, and runs the command on the worker thread.
+     * The reply replaces the pending message once the command is done. Clears the user input straight away.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = gbTheFatBoy.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getGbTheFatBoyDialog(response, gbTheFatBoyImage)
-        );
         userInput.clear();
+        Message pending = Message.fromGbTheFatBoy(PENDING_TEXT);
+        show(Message.fromUser(input), pending);
 
-        if (input.trim().equalsIgnoreCase("bye")) {
-            // Add a small delay to let the user see the goodbye message
-            Platform.runLater(() -> {
-                try {
-                    Thread.sleep(2500);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                Platform.exit();
-            });
+        boolean isBye = input.trim().equalsIgnoreCase("bye");
+        if (isBye) {
+            userInput.setDisable(true);
+            sendButton.setDisable(true);
         }
+        commandQueue.submit(input, response -> {
+            history.replace(pending, Message.fromGbTheFatBoy(response));
+            if (isBye) {
+                exitAfterGoodbye();
+            }
+        });
+    }
+
+    /**
+     * Closes the window after a short delay to let the user see the goodbye message,
+     * without blocking the application thread in the meantime.
+     */
+    private void exitAfterGoodbye() {
+        commandQueue.shutdown();
+        PauseTransition delay = new PauseTransition(EXIT_DELAY);
+        delay.setOnFinished(event -> Platform.exit());
+        delay.play();
+    }
+
+    /**
+     * Brings the previous page of archived messages back into the conversation.
+     */
+    @FXML
+    private void handleShowEarlier() {
+        int restored = history.restore(RESTORE_PAGE_SIZE);
+        showEarlierButton.setVisible(history.hasArchived());
+        dialogList.scrollTo(restored);
+    }
+
+    private void show(Message... messages) {
+        history.append(messages);
+        showEarlierButton.setVisible(history.hasArchived());
+        dialogList.scrollTo(dialogList.getItems().size() - 1);
     }
 }
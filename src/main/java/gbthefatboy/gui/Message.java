@@ -0,0 +1,30 @@
+package gbthefatboy.gui;
+
+/**
+ * A message in the conversation shown in the main window, from either the user or GbTheFatBoy.
+ */
+public class Message {
+    private final String text;
+    private final boolean isFromUser;
+
+    private Message(String text, boolean isFromUser) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+    }
+
+    public static Message fromUser(String text) {
+        return new Message(text, true);
+    }
+
+    public static Message fromGbTheFatBoy(String text) {
+        return new Message(text, false);
+    }
+
+    public String getText() {
+        return this.text;
+    }
+
+    public boolean isFromUser() {
+        return this.isFromUser;
+    }
+}
@@ -0,0 +1,40 @@
+package gbthefatboy.handler;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.exception.GbException;
+import gbthefatboy.storage.Storage;
+import gbthefatboy.storage.TaskList;
+import gbthefatboy.task.Task;
+
+/**
+ * Handles the commands that add a task: todo, deadline and event.
+ */
+class AddTaskHandler implements CommandHandler {
+
+    /**
+     * Builds the task to add from a command.
+     */
+    @FunctionalInterface
+    interface TaskParser {
+        Task parse(Command command) throws GbException;
+    }
+
+    private final TaskList taskList;
+    private final Storage storage;
+    private final TaskParser parser;
+
+    AddTaskHandler(TaskList taskList, Storage storage, TaskParser parser) {
+        this.taskList = taskList;
+        this.storage = storage;
+        this.parser = parser;
+    }
+
+    @Override
+    public CommandResult handle(Command command) throws GbException {
+        Task task = parser.parse(command);
+        taskList.add(task);
+        storage.appendAdd(task);
+        return CommandResult.of("Got it. I've added this task:", "  " + task,
+                "Now you have " + taskList.getSize() + " tasks in the list.");
+    }
+}
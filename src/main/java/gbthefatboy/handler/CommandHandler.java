@@ -0,0 +1,22 @@
+package gbthefatboy.handler;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.exception.GbException;
+
+/**
+ * Runs one type of command against the task list.
+ * Handlers are registered by command type in {@link CommandRegistry}, and their results are shown
+ * by whichever interface the command came from.
+ */
+@FunctionalInterface
+public interface CommandHandler {
+
+    /**
+     * Runs a command.
+     *
+     * @param command The parsed command.
+     * @return The result to show the user.
+     * @throws GbException If the command is invalid or cannot be carried out.
+     */
+    CommandResult handle(Command command) throws GbException;
+}
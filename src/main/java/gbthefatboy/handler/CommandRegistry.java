@@ -0,0 +1,96 @@
+package gbthefatboy.handler;
+
+import java.util.EnumMap;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.command.CommandType;
+import gbthefatboy.exception.GbException;
+import gbthefatboy.metrics.Metrics;
+import gbthefatboy.parser.Parser;
+import gbthefatboy.storage.Storage;
+import gbthefatboy.storage.TaskList;
+
+/**
+ * Maps each command type to the handler that runs it.
+ * Both the console and the GUI run commands through here, so anything that applies to every
+ * command only needs adding in {@link #execute(Command)}.
+ */
+public class CommandRegistry {
+
+    private final EnumMap<CommandType, CommandHandler> handlers = new EnumMap<>(CommandType.class);
+    private final Metrics metrics;
+
+    /**
+     * Creates a registry without any handlers.
+     *
+     * @param metrics The metrics every command run is recorded in.
+     */
+    public CommandRegistry(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Creates a registry with the handlers for every built-in command.
+     *
+     * @param taskList The task list commands act on.
+     * @param storage The storage changes are journaled to.
+     * @param metrics The metrics every command run is recorded in, and which the stats command reports.
+     * @param onExit Called when the bye command is run, before its result is returned.
+     * @return The registry.
+     */
+    public static CommandRegistry createDefault(TaskList taskList, Storage storage, Metrics metrics,
+            Runnable onExit) {
+        CommandRegistry registry = new CommandRegistry(metrics);
+        registry.register(CommandType.TODO, new AddTaskHandler(taskList, storage,
+                command -> Parser.parseTodo(command.getArguments())));
+        registry.register(CommandType.DEADLINE, new AddTaskHandler(taskList, storage, Parser::parseDeadline));
+        registry.register(CommandType.EVENT, new AddTaskHandler(taskList, storage, Parser::parseEvent));
+        registry.register(CommandType.LIST, new ListHandler(taskList));
+        registry.register(CommandType.MARK, new MarkHandler(taskList, storage, true));
+        registry.register(CommandType.UNMARK, new MarkHandler(taskList, storage, false));
+        registry.register(CommandType.DELETE, new DeleteHandler(taskList, storage));
+        registry.register(CommandType.FIND_DATE, new FindDateHandler(taskList));
+        registry.register(CommandType.FIND, new FindHandler(taskList));
+        registry.register(CommandType.TAG, new TagHandler(taskList, storage));
+        registry.register(CommandType.TAGS, new TagsHandler(taskList));
+        registry.register(CommandType.STATS, new StatsHandler(metrics));
+        registry.register(CommandType.BYE, command -> {
+            onExit.run();
+            return CommandResult.of("Bye. Hope to see you again soon!");
+        });
+        return registry;
+    }
+
+    /**
+     * Registers the handler for a command type, replacing any handler registered before.
+     *
+     * @param type The command type.
+     * @param handler The handler.
+     */
+    public void register(CommandType type, CommandHandler handler) {
+        handlers.put(type, handler);
+    }
+
+    /**
+     * Runs a command with the handler registered for its type, recording how long it took.
+     *
+     * @param command The parsed command.
+     * @return The result to show the user.
+     * @throws GbException If the command fails.
+     */
+    public CommandResult execute(Command command) throws GbException {
+        CommandHandler handler = handlers.get(command.getType());
+        if (handler == null) {
+            return CommandResult.error("Unknown command: " + command.getType());
+        }
+        long start = System.nanoTime();
+        boolean isError = true;
+        try {
+            CommandResult result = handler.handle(command);
+            isError = result.isError();
+            return result;
+        } finally {
+            metrics.recordExecute(command.getType(), System.nanoTime() - start, isError);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package gbthefatboy.handler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import gbthefatboy.storage.TaskPage;
+import gbthefatboy.task.Task;
+
+/**
+ * Outcome of a command: the lines of text to show the user and whether the command failed.
+ * The console prints the lines between separators and the GUI shows them together in one dialog,
+ * so both interfaces say the same thing.
+ */
+public class CommandResult {
+
+    private final List<String> lines;
+    private final boolean isError;
+    private String text;
+
+    /**
+     * Creates a result from the given lines.
+     *
+     * @param lines The lines to show, in order.
+     * @param isError Whether the command failed.
+     */
+    public CommandResult(List<String> lines, boolean isError) {
+        this.lines = lines;
+        this.isError = isError;
+    }
+
+    /**
+     * Creates the result of a successful command.
+     *
+     * @param lines The lines to show, in order.
+     * @return The result.
+     */
+    public static CommandResult of(String... lines) {
+        return new CommandResult(List.of(lines), false);
+    }
+
+    /**
+     * Creates the result of a failed command.
+     *
+     * @param lines The lines to show, in order.
+     * @return The result.
+     */
+    public static CommandResult error(String... lines) {
+        return new CommandResult(List.of(lines), true);
+    }
+
+    /**
+     * Creates the result of a successful command listing tasks, one numbered line per task after the header.
+     *
+     * @param header The line shown above the tasks.
+     * @param tasks The tasks to list, in order.
+     * @return The result.
+     */
+    public static CommandResult ofTasks(String header, Collection<Task> tasks) {
+        return new CommandResult(numberedLines(header, 1, tasks), false);
+    }
+
+    /**
+     * Returns the header followed by one line per task, numbered consecutively.
+     *
+     * @param header The first line.
+     * @param firstNumber The number of the first task.
+     * @param tasks The tasks, in order.
+     * @return A modifiable list of the lines.
+     */
+    static List<String> numberedLines(String header, int firstNumber, Collection<Task> tasks) {
+        List<String> lines = new ArrayList<>(tasks.size() + 3);
+        lines.add(header);
+        int number = firstNumber;
+        for (Task task : tasks) {
+            lines.add(number++ + ". " + task);
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the header followed by one line per task on the page, numbered with its index in the full list.
+     *
+     * @param header The first line.
+     * @param page The page of tasks.
+     * @return A modifiable list of the lines.
+     */
+    static List<String> indexedLines(String header, TaskPage page) {
+        List<Task> tasks = page.getTasks();
+        List<String> lines = new ArrayList<>(tasks.size() + 3);
+        lines.add(header);
+        for (int i = 0; i < tasks.size(); i++) {
+            lines.add(page.getIndex(i) + ". " + tasks.get(i));
+        }
+        return lines;
+    }
+
+    public List<String> getLines() {
+        return this.lines;
+    }
+
+    public boolean isError() {
+        return this.isError;
+    }
+
+    /**
+     * Returns the lines of the result joined into one block of text, joining them on first use.
+     *
+     * @return The text of the result.
+     */
+    public String getText() {
+        if (text == null) {
+            text = String.join("\n", lines);
+        }
+        return text;
+    }
+}
@@ -0,0 +1,31 @@
+package gbthefatboy.handler;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.exception.GbException;
+import gbthefatboy.parser.Parser;
+import gbthefatboy.storage.Storage;
+import gbthefatboy.storage.TaskList;
+import gbthefatboy.task.Task;
+
+/**
+ * Handles the delete command.
+ */
+class DeleteHandler implements CommandHandler {
+
+    private final TaskList taskList;
+    private final Storage storage;
+
+    DeleteHandler(TaskList taskList, Storage storage) {
+        this.taskList = taskList;
+        this.storage = storage;
+    }
+
+    @Override
+    public CommandResult handle(Command command) throws GbException {
+        int index = Parser.parseTaskIndex(command.getArguments());
+        Task deletedTask = taskList.delete(index);
+        storage.appendDelete(index);
+        return CommandResult.of("Noted. I've removed this task:", "  " + deletedTask,
+                "Now you have " + taskList.getSize() + " tasks in the list.");
+    }
+}
@@ -0,0 +1,102 @@
+package gbthefatboy.handler;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.command.CommandType;
+import gbthefatboy.exception.GbException;
+
+/**
+ * Turns the errors commands fail with into the results shown to the user, chosen by error code.
+ * Results that do not depend on the command or the task list are built once rather than for
+ * every rejected command.
+ */
+public final class ErrorResults {
+
+    public static final CommandResult INVALID_COMMAND = CommandResult.error("Invalid command",
+            "Valid commands: " + Arrays.stream(CommandType.values())
+                    .map(CommandType::getKeyword)
+                    .collect(Collectors.joining(", ")));
+
+    private static final CommandResult EMPTY_TODO = CommandResult.error("Task description cannot be empty!",
+            "Input todo in format: todo <task>",
+            "Example:",
+            "todo borrow book");
+    private static final CommandResult DEADLINE_FORMAT = CommandResult.error("Input deadline in below format:",
+            "deadline <task> /by <date> [time]",
+            "Examples:",
+            "deadline return book /by 2019-12-02",
+            "deadline submit report /by 2/12/2019 1800",
+            "deadline meeting /by 15/10/2019 2:30PM");
+    private static final CommandResult EVENT_FORMAT = CommandResult.error("Input event in the below format:",
+            "event <event name> /from <start date-time> /to <end date-time>",
+            "Examples:",
+            "event project meeting /from 2019-10-15 1400 /to 2019-10-15 1600",
+            "event conference /from 15/10/2019 2:00PM /to 17/10/2019 5:00PM");
+    private static final CommandResult EMPTY_DEADLINE =
+            CommandResult.error("Task description and deadline cannot be empty!");
+    private static final CommandResult EMPTY_EVENT =
+            CommandResult.error("Event description and dates cannot be empty!");
+    private static final CommandResult END_BEFORE_START =
+            CommandResult.error("End date/time cannot be before start date/time!");
+    private static final CommandResult INVALID_NUMBER = CommandResult.error("Invalid number format for task index.",
+            "Enter a whole number please");
+    private static final CommandResult NO_TASKS = CommandResult.error("Invalid index!",
+            "There are no tasks in your list!");
+
+    private static final String DATE_FORMATS = "Supported formats: yyyy-MM-dd, dd/MM/yyyy, MM/dd/yyyy";
+    private static final String TIME_FORMATS = "Time formats: HHmm, HH:mm, h:mma, ha (optional)";
+    private static final String FIND_DATE_EXAMPLE = "Example: find-date 2019-12-02 or find-date 2019-12-02 2019-12-08";
+    private static final String FIND_FORMAT = "Find format: find [filters] <keyword> or find [filters] #<tag>...";
+    private static final String FIND_EXAMPLE = "Example: find book or find --pending #work";
+    private static final String TAG_FORMAT = "Tag format: tag <itemNumber> <tag> [<tag>...]";
+    private static final String TAG_EXAMPLE = "Example: tag 2 fun #urgent";
+    private static final String LIST_FORMAT = "List format: list [page] [--page-size <n>] [filters]";
+    private static final String FILTER_FORMAT = "Filters: --pending, --done, --type <T|D|E>";
+    private static final String FILTER_EXAMPLE = "Example: list --pending --type D or find --done report";
+    private static final String LIST_EXAMPLE = "Example: list 2 --page-size 20";
+
+    private ErrorResults() {
+    }
+
+    /**
+     * Returns the result to show for a command that failed.
+     *
+     * @param command The command that failed, or null if the input could not be parsed into one.
+     * @param e The exception it failed with.
+     * @param taskCount The number of tasks in the list, for errors about task indices.
+     * @return The result.
+     */
+    public static CommandResult of(Command command, GbException e, int taskCount) {
+        return switch (e.getCode()) {
+        case EMPTY_TODO -> EMPTY_TODO;
+        case INVALID_DEADLINE_FORMAT -> DEADLINE_FORMAT;
+        case EMPTY_DEADLINE -> EMPTY_DEADLINE;
+        case INVALID_EVENT_FORMAT -> EVENT_FORMAT;
+        case EMPTY_EVENT -> EMPTY_EVENT;
+        case END_BEFORE_START -> END_BEFORE_START;
+        case INVALID_DATE_TIME -> CommandResult.error("Invalid date/time format: " + e.getPayload(0),
+                DATE_FORMATS, TIME_FORMATS);
+        case EMPTY_INDEX, INVALID_INDEX_FORMAT -> INVALID_NUMBER;
+        case INVALID_TASK_INDEX, INDEX_OUT_OF_BOUNDS -> invalidIndex(command, taskCount);
+        case EMPTY_TAG, INVALID_TAG_INDEX -> CommandResult.error(e.getMessage(), TAG_FORMAT, TAG_EXAMPLE);
+        case EMPTY_KEYWORD -> CommandResult.error(e.getMessage(), FIND_FORMAT, FIND_EXAMPLE);
+        case EMPTY_DATE, INVALID_DATE, INVALID_DATE_RANGE ->
+                CommandResult.error(e.getMessage(), DATE_FORMATS, FIND_DATE_EXAMPLE);
+        case INVALID_LIST_OPTION -> CommandResult.error(e.getMessage(), LIST_FORMAT, LIST_EXAMPLE);
+        case INVALID_FILTER_OPTION -> CommandResult.error(e.getMessage(), FILTER_FORMAT, FILTER_EXAMPLE);
+        case PAGE_OUT_OF_RANGE -> CommandResult.error(e.getMessage());
+        default -> CommandResult.error("Error: " + e.getMessage());
+        };
+    }
+
+    private static CommandResult invalidIndex(Command command, int taskCount) {
+        if (command.getType() == CommandType.TAG) {
+            return CommandResult.error("Please enter an itemNumber from 1 to " + taskCount, "Example: tag 1 #work");
+        } else if (taskCount == 0) {
+            return NO_TASKS;
+        }
+        return CommandResult.error("Invalid index!", "Please enter a number from 1 to " + taskCount);
+    }
+}
@@ -0,0 +1,40 @@
+package gbthefatboy.handler;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.command.DateRange;
+import gbthefatboy.exception.GbException;
+import gbthefatboy.parser.Parser;
+import gbthefatboy.storage.TaskList;
+import gbthefatboy.task.Task;
+
+/**
+ * Handles the find-date command, for a single day or a range of days.
+ */
+class FindDateHandler implements CommandHandler {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+
+    private final TaskList taskList;
+
+    FindDateHandler(TaskList taskList) {
+        this.taskList = taskList;
+    }
+
+    @Override
+    public CommandResult handle(Command command) throws GbException {
+        DateRange range = Parser.parseDateRange(command.getArguments());
+        ArrayList<Task> tasks = taskList.findTasksByDateRange(range.getFrom(), range.getTo());
+        if (range.isSingleDay()) {
+            return tasks.isEmpty()
+                    ? CommandResult.of("No tasks found on " + range.getFrom() + ".")
+                    : CommandResult.ofTasks("Tasks on " + range.getFrom().format(DATE_FORMAT) + ":", tasks);
+        }
+        return tasks.isEmpty()
+                ? CommandResult.of("No tasks found from " + range.getFrom() + " to " + range.getTo() + ".")
+                : CommandResult.ofTasks("Tasks from " + range.getFrom().format(DATE_FORMAT)
+                        + " to " + range.getTo().format(DATE_FORMAT) + ":", tasks);
+    }
+}
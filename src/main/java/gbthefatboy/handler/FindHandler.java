@@ -0,0 +1,34 @@
+package gbthefatboy.handler;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.command.FindQuery;
+import gbthefatboy.exception.GbException;
+import gbthefatboy.parser.Parser;
+import gbthefatboy.storage.TaskList;
+import gbthefatboy.storage.TaskPage;
+
+/**
+ * Handles the find command, listing the tasks whose description contains the keyword.
+ * A query made only of {@code #tag} words instead lists the tasks carrying every one of the tags.
+ * Either can be narrowed to pending or done tasks and to tasks of some types by leading filter options.
+ */
+class FindHandler implements CommandHandler {
+
+    private final TaskList taskList;
+
+    FindHandler(TaskList taskList) {
+        this.taskList = taskList;
+    }
+
+    @Override
+    public CommandResult handle(Command command) throws GbException {
+        FindQuery query = Parser.parseFindQuery(command.getArguments());
+        TaskPage page = query.isTagQuery()
+                ? taskList.findTaskPageByTags(query.getTags(), query.getFilter())
+                : taskList.findTaskPageByKeyword(query.getKeyword(), query.getFilter());
+        if (page.getTasks().isEmpty()) {
+            return CommandResult.of("No matching tasks found.");
+        }
+        return new CommandResult(CommandResult.indexedLines("Here are the matching tasks in your list:", page), false);
+    }
+}
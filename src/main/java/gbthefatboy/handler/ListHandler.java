@@ -0,0 +1,111 @@
+package gbthefatboy.handler;
+
+import java.util.List;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.command.ListOptions;
+import gbthefatboy.exception.ErrorCode;
+import gbthefatboy.exception.GbException;
+import gbthefatboy.parser.Parser;
+import gbthefatboy.storage.TaskList;
+import gbthefatboy.storage.TaskPage;
+import gbthefatboy.task.Task;
+import gbthefatboy.task.TaskFilter;
+
+/**
+ * Handles the list command, showing one page of the task list at a time.
+ * Only the tasks on the page are fetched and rendered, and the last page shown is kept until
+ * the list changes, so listing the same page again costs nothing.
+ * While the task list is still loading, pages through the tasks loaded so far instead of
+ * waiting for the rest.
+ * A filtered list waits for loading to finish and pages through the tasks passing the filter,
+ * numbering each with its index in the full list so it can be given to other commands.
+ */
+class ListHandler implements CommandHandler {
+
+    private final TaskList taskList;
+    private ListOptions cachedOptions;
+    private long cachedVersion;
+    private CommandResult cachedResult;
+
+    ListHandler(TaskList taskList) {
+        this.taskList = taskList;
+    }
+
+    @Override
+    public CommandResult handle(Command command) throws GbException {
+        ListOptions options = Parser.parseListOptions(command.getArguments());
+        boolean isLoading = taskList.isLoading();
+        long version = taskList.getVersion();
+        if (!isLoading && cachedResult != null && version == cachedVersion && options.equals(cachedOptions)) {
+            return cachedResult;
+        }
+        if (!options.getFilter().isAll()) {
+            return cache(options, version, listFiltered(options));
+        }
+
+        int total = isLoading ? taskList.getLoadedSize() : taskList.getSize();
+        if (total == 0 && !isLoading) {
+            return CommandResult.of("You have no tasks in your list.");
+        }
+        int pageSize = options.getPageSize();
+        int pageCount = countPages(options, total);
+        int offset = (options.getPage() - 1) * pageSize;
+        List<Task> tasks = isLoading ? taskList.getLoadedTasks(offset, pageSize) : taskList.getTasks(offset, pageSize);
+        List<String> lines = CommandResult.numberedLines("Here are the tasks in your list:", offset + 1, tasks);
+        if (pageCount > 1) {
+            lines.add(describePage(options, pageCount));
+        }
+        if (isLoading) {
+            lines.add("(still loading, " + total + " tasks so far)");
+            return new CommandResult(lines, false);
+        }
+
+        return cache(options, version, new CommandResult(lines, false));
+    }
+
+    private CommandResult listFiltered(ListOptions options) throws GbException {
+        int offset = (int) Math.min(Integer.MAX_VALUE, (options.getPage() - 1L) * options.getPageSize());
+        TaskPage page = taskList.getTasks(options.getFilter(), offset, options.getPageSize());
+        if (page.getMatchCount() == 0) {
+            return CommandResult.of("No matching tasks found.");
+        }
+        int pageCount = countPages(options, page.getMatchCount());
+        List<String> lines = CommandResult.indexedLines("Here are the matching tasks in your list:", page);
+        if (pageCount > 1) {
+            lines.add(describePage(options, pageCount));
+        }
+        return new CommandResult(lines, false);
+    }
+
+    private CommandResult cache(ListOptions options, long version, CommandResult result) {
+        cachedOptions = options;
+        cachedVersion = version;
+        cachedResult = result;
+        return result;
+    }
+
+    /**
+     * Returns the number of pages the given number of tasks take, checking the page asked for is one of them.
+     */
+    private static int countPages(ListOptions options, int total) throws GbException {
+        int pageSize = options.getPageSize();
+        int pageCount = Math.max(1, (int) ((total + (long) pageSize - 1) / pageSize));
+        if (options.getPage() > pageCount) {
+            throw new GbException(ErrorCode.PAGE_OUT_OF_RANGE, options.getPage(), pageCount);
+        }
+        return pageCount;
+    }
+
+    private static String describePage(ListOptions options, int pageCount) {
+        String description = "Page " + options.getPage() + " of " + pageCount;
+        if (options.getPage() == pageCount) {
+            return description;
+        }
+        String pageSizeOption = options.hasDefaultPageSize() ? "" : " --page-size " + options.getPageSize();
+        TaskFilter filter = options.getFilter();
+        String filterOptions = filter.isAll() ? "" : " " + filter.toOptions();
+        return description + ", type list " + (options.getPage() + 1) + pageSizeOption + filterOptions
+                + " for the next page";
+    }
+}
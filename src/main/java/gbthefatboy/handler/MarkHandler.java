@@ -0,0 +1,40 @@
+package gbthefatboy.handler;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.exception.GbException;
+import gbthefatboy.parser.Parser;
+import gbthefatboy.storage.Storage;
+import gbthefatboy.storage.TaskList;
+import gbthefatboy.task.Task;
+
+/**
+ * Handles the mark and unmark commands.
+ */
+class MarkHandler implements CommandHandler {
+
+    private final TaskList taskList;
+    private final Storage storage;
+    private final boolean isDone;
+
+    MarkHandler(TaskList taskList, Storage storage, boolean isDone) {
+        this.taskList = taskList;
+        this.storage = storage;
+        this.isDone = isDone;
+    }
+
+    @Override
+    public CommandResult handle(Command command) throws GbException {
+        int index = Parser.parseTaskIndex(command.getArguments());
+        if (isDone) {
+            taskList.mark(index);
+            storage.appendMark(index);
+        } else {
+            taskList.unmark(index);
+            storage.appendUnmark(index);
+        }
+        Task task = taskList.getTask(index);
+        return isDone
+                ? CommandResult.of("Nice! I've marked this task as done:", "  " + task)
+                : CommandResult.of("OK, I've marked this task as not done yet:", "  " + task);
+    }
+}
@@ -0,0 +1,24 @@
+package gbthefatboy.handler;
+
+import java.util.List;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.metrics.Metrics;
+
+/**
+ * Handles the stats command, reporting the counts and latencies of the commands run so far.
+ */
+class StatsHandler implements CommandHandler {
+
+    private final Metrics metrics;
+
+    StatsHandler(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CommandResult handle(Command command) {
+        List<String> lines = metrics.report();
+        return new CommandResult(lines, false);
+    }
+}
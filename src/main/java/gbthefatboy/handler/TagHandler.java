@@ -0,0 +1,31 @@
+package gbthefatboy.handler;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.command.Tag;
+import gbthefatboy.exception.GbException;
+import gbthefatboy.parser.Parser;
+import gbthefatboy.storage.Storage;
+import gbthefatboy.storage.TaskList;
+import gbthefatboy.task.Task;
+
+/**
+ * Handles the tag command, adding one or more tags to a task.
+ */
+class TagHandler implements CommandHandler {
+
+    private final TaskList taskList;
+    private final Storage storage;
+
+    TagHandler(TaskList taskList, Storage storage) {
+        this.taskList = taskList;
+        this.storage = storage;
+    }
+
+    @Override
+    public CommandResult handle(Command command) throws GbException {
+        Tag tag = Parser.parseTag(command.getArguments());
+        Task target = taskList.addTags(tag.getIndex(), tag.getNames());
+        storage.appendTags(tag.getIndex(), tag.getNames());
+        return CommandResult.of("Got it. I've tagged this task:", "  " + target);
+    }
+}
@@ -0,0 +1,35 @@
+package gbthefatboy.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.storage.TaskList;
+
+/**
+ * Handles the tags command, listing every tag in use with the number of tasks carrying it.
+ */
+class TagsHandler implements CommandHandler {
+
+    private final TaskList taskList;
+
+    TagsHandler(TaskList taskList) {
+        this.taskList = taskList;
+    }
+
+    @Override
+    public CommandResult handle(Command command) {
+        SortedMap<String, Integer> counts = taskList.getTagCounts();
+        if (counts.isEmpty()) {
+            return CommandResult.of("No tasks are tagged yet.");
+        }
+        List<String> lines = new ArrayList<>(counts.size() + 1);
+        lines.add("Here are the tags in your list:");
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            lines.add("#" + entry.getKey() + ": " + entry.getValue() + " task(s)");
+        }
+        return new CommandResult(lines, false);
+    }
+}
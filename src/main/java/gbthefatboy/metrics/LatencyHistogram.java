@@ -0,0 +1,88 @@
+package gbthefatboy.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies in nanoseconds, cheap enough to record into on every command.
+ * Values are counted in log-linear buckets: each power of two is split into {@value #SUB_BUCKETS}
+ * buckets, so a percentile is reported to within 12.5% of the true value while recording is a
+ * couple of atomic updates and no allocation. The maximum is tracked exactly.
+ * Safe to record into from several threads.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values below this get a bucket each; above it, buckets grow with the value
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - Integer.numberOfTrailingZeros(LINEAR_LIMIT))
+            * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos The latency in nanoseconds; negative values are counted as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Returns the latency below which the given fraction of the recorded latencies fall.
+     *
+     * @param fraction The fraction, from 0 to 1; 0.5 gives the median.
+     * @return The latency in nanoseconds, rounded up to the end of its bucket but never above the maximum,
+     *     or 0 if nothing was recorded.
+     */
+    public long getPercentileNanos(double fraction) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - Integer.numberOfTrailingZeros(LINEAR_LIMIT)) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + Integer.numberOfTrailingZeros(LINEAR_LIMIT);
+        long subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+}
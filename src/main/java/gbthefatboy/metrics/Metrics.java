@@ -0,0 +1,149 @@
+package gbthefatboy.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import gbthefatboy.command.CommandType;
+import gbthefatboy.task.DescriptionPool;
+
+/**
+ * Counts and latencies of the commands run so far, kept per command type, alongside the
+ * latencies of saving and loading the task list and how many task descriptions are shared.
+ * Parsing and running a command are timed separately, so slow input handling can be told apart
+ * from slow task list operations. Recording is lock-free and allocation-free, so metrics are
+ * always on.
+ */
+public class Metrics {
+
+    private final EnumMap<CommandType, LatencyHistogram> parseLatency = new EnumMap<>(CommandType.class);
+    private final EnumMap<CommandType, LatencyHistogram> executeLatency = new EnumMap<>(CommandType.class);
+    private final EnumMap<CommandType, AtomicLong> errorCounts = new EnumMap<>(CommandType.class);
+    private final LatencyHistogram invalidParseLatency = new LatencyHistogram();
+    private final LatencyHistogram saveLatency;
+    private final LatencyHistogram loadLatency;
+    private final Supplier<String> loadBreakdown;
+    private final DescriptionPool descriptions;
+
+    /**
+     * Creates empty metrics that report the given save and load latencies, which are recorded by storage,
+     * and how much the given description pool has shared.
+     *
+     * @param saveLatency The latencies of writing snapshots.
+     * @param loadLatency The latencies of loading the task list.
+     * @param loadBreakdown Describes the time spent in each phase of the last load.
+     * @param descriptions The description pool of the task list.
+     */
+    public Metrics(LatencyHistogram saveLatency, LatencyHistogram loadLatency, Supplier<String> loadBreakdown,
+            DescriptionPool descriptions) {
+        for (CommandType type : CommandType.values()) {
+            parseLatency.put(type, new LatencyHistogram());
+            executeLatency.put(type, new LatencyHistogram());
+            errorCounts.put(type, new AtomicLong());
+        }
+        this.saveLatency = saveLatency;
+        this.loadLatency = loadLatency;
+        this.loadBreakdown = loadBreakdown;
+        this.descriptions = descriptions;
+    }
+
+    /**
+     * Records the time taken to parse a line of input.
+     *
+     * @param type The type of the parsed command, or null if the line was not a valid command.
+     * @param nanos The time taken in nanoseconds.
+     */
+    public void recordParse(CommandType type, long nanos) {
+        (type == null ? invalidParseLatency : parseLatency.get(type)).record(nanos);
+    }
+
+    /**
+     * Records the time taken to run a command.
+     *
+     * @param type The type of the command.
+     * @param nanos The time taken in nanoseconds.
+     * @param isError Whether the command failed.
+     */
+    public void recordExecute(CommandType type, long nanos, boolean isError) {
+        executeLatency.get(type).record(nanos);
+        if (isError) {
+            errorCounts.get(type).incrementAndGet();
+        }
+    }
+
+    public LatencyHistogram getParseLatency(CommandType type) {
+        return parseLatency.get(type);
+    }
+
+    public LatencyHistogram getExecuteLatency(CommandType type) {
+        return executeLatency.get(type);
+    }
+
+    public long getErrorCount(CommandType type) {
+        return errorCounts.get(type).get();
+    }
+
+    /**
+     * Returns a report of the metrics, one line per command type that has been run and one each
+     * for invalid input, saves, loads, the phases of the last load and description sharing.
+     * Latencies are given as p50/p99/max in milliseconds.
+     *
+     * @return The lines of the report.
+     */
+    public List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Command stats (latency p50/p99/max in ms):");
+        for (CommandType type : CommandType.values()) {
+            LatencyHistogram execute = executeLatency.get(type);
+            if (execute.getCount() == 0) {
+                continue;
+            }
+            lines.add(String.format("%-9s count %d, errors %d, parse %s, execute %s", type.getKeyword(),
+                    execute.getCount(), getErrorCount(type), summarize(parseLatency.get(type)),
+                    summarize(execute)));
+        }
+        if (invalidParseLatency.getCount() > 0) {
+            lines.add(String.format("%-9s count %d, parse %s", "invalid", invalidParseLatency.getCount(),
+                    summarize(invalidParseLatency)));
+        }
+        lines.add(String.format("%-9s count %d, %s", "save", saveLatency.getCount(), summarize(saveLatency)));
+        lines.add(String.format("%-9s count %d, %s", "load", loadLatency.getCount(), summarize(loadLatency)));
+        if (loadLatency.getCount() > 0) {
+            lines.add(String.format("%-9s %s", "", "last load: " + loadBreakdown.get()));
+        }
+        lines.add(summarize(descriptions));
+        return lines;
+    }
+
+    /**
+     * Writes the report to a file, replacing its contents.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void dump(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(path, report(), StandardCharsets.UTF_8);
+    }
+
+    private static String summarize(DescriptionPool pool) {
+        long lookups = pool.getLookupCount();
+        double sharedPercent = lookups == 0 ? 0 : 100.0 * pool.getSharedCount() / lookups;
+        return String.format("%-9s %d pooled of %d, %.1f%% shared, about %.1f KB saved", "dedup",
+                pool.getSize(), lookups, sharedPercent, pool.getSavedBytes() / 1024.0);
+    }
+
+    private static String summarize(LatencyHistogram histogram) {
+        return String.format("%.3f/%.3f/%.3f", histogram.getPercentileNanos(0.5) / 1_000_000.0,
+                histogram.getPercentileNanos(0.99) / 1_000_000.0, histogram.getMaxNanos() / 1_000_000.0);
+    }
+}
@@ -0,0 +1,100 @@
+package gbthefatboy.parser;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.command.CommandType;
+import gbthefatboy.exception.ErrorCode;
+import gbthefatboy.exception.GbException;
+
+/**
+ * Splits an input line into a {@link Command} in a single scan, without copying any part of the line.
+ * The keyword is matched against {@link CommandType} in place, and for deadlines and events the
+ * positions of the {@code /by}, {@code /from} and {@code /to} flags are found in the same scan.
+ */
+public final class CommandTokenizer {
+    static final String BY_FLAG = " /by ";
+    static final String FROM_FLAG = " /from ";
+    static final String TO_FLAG = " /to ";
+
+    private CommandTokenizer() {
+    }
+
+    /**
+     * Tokenizes a full input line.
+     * The keyword ends at the first space, and the arguments are the rest of the line without
+     * surrounding whitespace.
+     *
+     * @param line The input line.
+     * @return The command, referring to the line for its arguments.
+     * @throws GbException If the line is empty.
+     * @throws IllegalArgumentException If the keyword is not a known command.
+     */
+    public static Command tokenize(String line) throws GbException {
+        int start = 0;
+        int end = line.length();
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            throw new GbException(ErrorCode.EMPTY_COMMAND);
+        }
+
+        int keywordEnd = start;
+        while (keywordEnd < end && line.charAt(keywordEnd) != ' ') {
+            keywordEnd++;
+        }
+        CommandType type = CommandType.lookup(line, start, keywordEnd);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown command " + line.substring(start, keywordEnd));
+        }
+
+        int argumentsStart = keywordEnd;
+        while (argumentsStart < end && line.charAt(argumentsStart) <= ' ') {
+            argumentsStart++;
+        }
+        return withFlags(type, line, argumentsStart, end);
+    }
+
+    /**
+     * Wraps arguments that were already separated from their keyword, locating their flags.
+     *
+     * @param type The type of command.
+     * @param arguments The arguments, used as they are.
+     * @return The command.
+     */
+    public static Command tokenizeArguments(CommandType type, String arguments) {
+        return withFlags(type, arguments, 0, arguments.length());
+    }
+
+    /**
+     * Creates the command, scanning the arguments for the flags its type takes.
+     * Only the first {@code /by} and {@code /from} count, and only a {@code /to} following the {@code /from}.
+     */
+    private static Command withFlags(CommandType type, String line, int start, int end) {
+        int byOffset = -1;
+        int fromOffset = -1;
+        int toOffset = -1;
+        if (type == CommandType.DEADLINE || type == CommandType.EVENT) {
+            for (int i = start; i + TO_FLAG.length() <= end; i++) {
+                if (line.charAt(i) != ' ' || line.charAt(i + 1) != '/') {
+                    continue;
+                }
+                if (byOffset < 0 && isFlagAt(line, i, end, BY_FLAG)) {
+                    byOffset = i;
+                } else if (fromOffset < 0 && isFlagAt(line, i, end, FROM_FLAG)) {
+                    fromOffset = i;
+                } else if (toOffset < 0 && fromOffset >= 0 && i >= fromOffset + FROM_FLAG.length()
+                        && isFlagAt(line, i, end, TO_FLAG)) {
+                    toOffset = i;
+                }
+            }
+        }
+        return new Command(type, line, start, end, byOffset, fromOffset, toOffset);
+    }
+
+    private static boolean isFlagAt(String line, int index, int end, String flag) {
+        return index + flag.length() <= end && line.startsWith(flag, index);
+    }
+}
@@ -3,6 +3,8 @@ package gbthefatboy.parser;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
@@ -10,6 +12,11 @@ import java.util.List;
 /**
  * Utility class for parsing date and time strings in various formats.
  * Supports multiple date and time formats and can parse combined date-time strings.
+ *
+ * <p>The common shapes of input, such as {@code 2019-12-02}, {@code 2/12/2019} or {@code 6:30pm}, are
+ * recognized in a single pass over the characters and converted directly, without trying the formats
+ * one after another and catching the failures. Inputs of any other shape fall back to the formatters,
+ * so every input parses exactly as it would with the formatters alone, in the order they are listed.
  */
 public class DateTimeParser {
 
@@ -34,6 +41,15 @@ public class DateTimeParser {
             DateTimeFormatter.ofPattern("h a") // 6 PM
     );
 
+    // Returned by the recognizers for shapes they leave to the formatters
+    private static final LocalDate UNRECOGNIZED_DATE = LocalDate.MIN;
+    private static final LocalTime UNRECOGNIZED_TIME = LocalTime.MIN.plusNanos(1);
+
+    // The AM/PM markers are only recognized directly if the formatters' locale spells them AM and PM
+    private static final boolean IS_MERIDIEM_RECOGNIZED =
+            "6 AM".equals(TIME_FORMATS.get(5).format(LocalTime.of(6, 0)))
+            && "6 PM".equals(TIME_FORMATS.get(5).format(LocalTime.of(18, 0)));
+
     /**
      * Parses a date-time string that may contain date only, date and time, or a full date-time format.
      * If only date is provided, defaults time to 23:59.
@@ -44,25 +60,227 @@ public class DateTimeParser {
      */
     public static LocalDateTime parseDateTime(String dateTimeStr) throws DateTimeParseException {
         dateTimeStr = dateTimeStr.trim();
+        int length = dateTimeStr.length();
 
-        String[] parts = dateTimeStr.split("\\s+");
+        int dateEnd = skipNonWhitespace(dateTimeStr, 0, length);
+        if (dateEnd == length) {
+            return parseDate(dateTimeStr, 0, length).atTime(23, 59);
+        }
 
-        if (parts.length == 1) {
+        int timeStart = skipWhitespace(dateTimeStr, dateEnd, length);
+        int timeEnd = skipNonWhitespace(dateTimeStr, timeStart, length);
+        if (timeEnd == length) {
+            LocalDate date = parseDate(dateTimeStr, 0, dateEnd);
+            LocalTime time = parseTime(dateTimeStr, timeStart, length);
+            return date.atTime(time);
+        }
 
-            LocalDate date = parseDate(parts[0]);
-            return date.atTime(23, 59);
-        } else if (parts.length == 2) {
+        // An ISO date-time never contains whitespace, so three or more parts cannot be parsed
+        throw new DateTimeParseException("Unable to parse date-time: " + dateTimeStr, dateTimeStr, 0);
+    }
 
-            LocalDate date = parseDate(parts[0]);
-            LocalTime time = parseTime(parts[1]);
-            return date.atTime(time);
-        } else {
+    /**
+     * Parses a date string in one of the supported date formats.
+     *
+     * @param dateStr The date string to parse.
+     * @return A LocalDate object representing the parsed date.
+     * @throws DateTimeParseException If the string cannot be parsed in any supported date format.
+     */
+    public static LocalDate parseDate(String dateStr) throws DateTimeParseException {
+        String trimmed = dateStr.trim();
+        return parseDate(trimmed, 0, trimmed.length());
+    }
+
+    private static LocalDate parseDate(String text, int start, int end) throws DateTimeParseException {
+        LocalDate date = recognizeDate(text, start, end);
+        if (date == UNRECOGNIZED_DATE) {
+            return parseDateWithFormats(text.substring(start, end));
+        }
+        if (date == null) {
+            String dateStr = text.substring(start, end);
+            throw new DateTimeParseException("Unable to parse date: " + dateStr, dateStr, 0);
+        }
+        return date;
+    }
+
+    private static LocalTime parseTime(String text, int start, int end) throws DateTimeParseException {
+        LocalTime time = recognizeTime(text, start, end);
+        if (time == UNRECOGNIZED_TIME) {
+            return parseTimeWithFormats(text.substring(start, end));
+        }
+        if (time == null) {
+            String timeStr = normalizeMeridiem(text.substring(start, end));
+            throw new DateTimeParseException("Unable to parse time: " + timeStr, timeStr, 0);
+        }
+        return time;
+    }
 
-            return parseAsDateTime(dateTimeStr);
+    /**
+     * Converts a date of one of the common shapes directly.
+     * Two digit groups around a four-digit year separated by slashes are read day first, then month first,
+     * matching the order of the formats.
+     *
+     * @return The date, null if the shape is recognized but no format accepts it,
+     *     or {@link #UNRECOGNIZED_DATE} if the shape is left to the formatters.
+     */
+    private static LocalDate recognizeDate(String text, int start, int end) {
+        int firstEnd = skipDigits(text, start, end);
+        if (firstEnd == end) {
+            return UNRECOGNIZED_DATE;
+        }
+        char separator = text.charAt(firstEnd);
+        int secondEnd = skipDigits(text, firstEnd + 1, end);
+        if (secondEnd == end || text.charAt(secondEnd) != separator || skipDigits(text, secondEnd + 1, end) != end) {
+            return UNRECOGNIZED_DATE;
+        }
+
+        int firstLength = firstEnd - start;
+        int secondLength = secondEnd - firstEnd - 1;
+        int thirdLength = end - secondEnd - 1;
+        boolean isYearFirst = firstLength == 4;
+        boolean isYearLast = thirdLength == 4 && isDayOrMonth(firstLength) && isDayOrMonth(secondLength);
+        if (separator == '-' && isYearFirst && secondLength == 2 && thirdLength == 2
+                || separator == '/' && isYearFirst && isDayOrMonth(secondLength) && isDayOrMonth(thirdLength)) {
+            return toDate(readNumber(text, start, firstEnd), readNumber(text, firstEnd + 1, secondEnd),
+                    readNumber(text, secondEnd + 1, end));
+        } else if (separator == '/' && isYearLast) {
+            int first = readNumber(text, start, firstEnd);
+            int second = readNumber(text, firstEnd + 1, secondEnd);
+            int year = readNumber(text, secondEnd + 1, end);
+            LocalDate dayFirst = toDate(year, second, first);
+            return dayFirst != null ? dayFirst : toDate(year, first, second);
+        }
+        return UNRECOGNIZED_DATE;
+    }
+
+    /**
+     * Converts a time of one of the common shapes directly.
+     *
+     * @return The time, null if the shape is recognized but no format accepts it,
+     *     or {@link #UNRECOGNIZED_TIME} if the shape is left to the formatters.
+     */
+    private static LocalTime recognizeTime(String text, int start, int end) {
+        int length = end - start;
+        int meridiemOffset = meridiemOffset(text, start, end);
+
+        if (meridiemOffset < 0) {
+            if (length == 4 && skipDigits(text, start, end) == end) {
+                return toTime(readNumber(text, start, start + 2), readNumber(text, start + 2, end));
+            } else if (length == 5 && text.charAt(start + 2) == ':' && skipDigits(text, start, start + 2) == start + 2
+                    && skipDigits(text, start + 3, end) == end) {
+                return toTime(readNumber(text, start, start + 2), readNumber(text, start + 3, end));
+            }
+            return UNRECOGNIZED_TIME;
+        }
+
+        int markerStart = end - 2;
+        int hourEnd = skipDigits(text, start, markerStart);
+        if (!IS_MERIDIEM_RECOGNIZED || !isDayOrMonth(hourEnd - start)) {
+            return UNRECOGNIZED_TIME;
+        }
+        int hour = readNumber(text, start, hourEnd);
+        if (hourEnd == markerStart) {
+            return toClockTime(hour, 0, meridiemOffset);
+        } else if (markerStart - hourEnd == 3 && text.charAt(hourEnd) == ':'
+                && skipDigits(text, hourEnd + 1, markerStart) == markerStart) {
+            return toClockTime(hour, readNumber(text, hourEnd + 1, markerStart), meridiemOffset);
+        }
+        return UNRECOGNIZED_TIME;
+    }
+
+    /**
+     * Resolves a date the way the formatters do: the day must be from 1 to 31 and is moved back to
+     * the end of shorter months.
+     */
+    private static LocalDate toDate(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
         }
+        int monthLength = Month.of(month).length(Year.isLeap(year));
+        return LocalDate.of(year, month, Math.min(day, monthLength));
     }
 
-    private static LocalDate parseDateHelper(String dateStr) throws DateTimeParseException {
+    /**
+     * Resolves a 24-hour time the way the formatters do, which accept 24:00 as midnight.
+     */
+    private static LocalTime toTime(int hour, int minute) {
+        if (hour == 24 && minute == 0) {
+            return LocalTime.MIDNIGHT;
+        }
+        if (hour > 23 || minute > 59) {
+            return null;
+        }
+        return LocalTime.of(hour, minute);
+    }
+
+    /**
+     * Resolves a 12-hour time the way the formatters do, which also accept hour 0 as 12.
+     */
+    private static LocalTime toClockTime(int hour, int minute, int meridiemOffset) {
+        if (hour > 12 || minute > 59) {
+            return null;
+        }
+        return LocalTime.of(hour % 12 + meridiemOffset, minute);
+    }
+
+    /**
+     * Returns the hours added by an AM or PM marker ending the text, in any case, or -1 without one.
+     */
+    private static int meridiemOffset(String text, int start, int end) {
+        if (end - start < 2 || Character.toUpperCase(text.charAt(end - 1)) != 'M') {
+            return -1;
+        }
+        char marker = Character.toUpperCase(text.charAt(end - 2));
+        return marker == 'A' ? 0 : marker == 'P' ? 12 : -1;
+    }
+
+    private static boolean isDayOrMonth(int digitCount) {
+        return digitCount == 1 || digitCount == 2;
+    }
+
+    private static int skipDigits(String text, int from, int end) {
+        int i = from;
+        while (i < end && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhitespace(String text, int from, int end) {
+        int i = from;
+        while (i < end && isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipNonWhitespace(String text, int from, int end) {
+        int i = from;
+        while (i < end && !isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // The characters matched by \s in a regular expression
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // Only called on digit groups of at most four digits
+    private static int readNumber(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + text.charAt(i) - '0';
+        }
+        return value;
+    }
+
+    private static String normalizeMeridiem(String timeStr) {
+        return timeStr.toUpperCase().replace("PM", " PM").replace("AM", " AM");
+    }
+
+    private static LocalDate parseDateWithFormats(String dateStr) throws DateTimeParseException {
         for (DateTimeFormatter formatter : DATE_FORMATS) {
             try {
                 return LocalDate.parse(dateStr, formatter);
@@ -73,10 +291,9 @@ public class DateTimeParser {
         throw new DateTimeParseException("Unable to parse date: " + dateStr, dateStr, 0);
     }
 
-
-    private static LocalTime parseTime(String timeStr) throws DateTimeParseException {
+    private static LocalTime parseTimeWithFormats(String timeStr) throws DateTimeParseException {
         // Convert common variations
-        timeStr = timeStr.toUpperCase().replace("PM", " PM").replace("AM", " AM");
+        timeStr = normalizeMeridiem(timeStr);
 
         for (DateTimeFormatter formatter : TIME_FORMATS) {
             try {
@@ -87,24 +304,4 @@ public class DateTimeParser {
         }
         throw new DateTimeParseException("Unable to parse time: " + timeStr, timeStr, 0);
     }
-
-
-    private static LocalDateTime parseAsDateTime(String dateTimeStr) throws DateTimeParseException {
-        try {
-            return LocalDateTime.parse(dateTimeStr);
-        } catch (DateTimeParseException e) {
-            throw new DateTimeParseException("Unable to parse date-time: " + dateTimeStr, dateTimeStr, 0);
-        }
-    }
-
-    /**
-     * Parses a date string in one of the supported date formats.
-     *
-     * @param dateStr The date string to parse.
-     * @return A LocalDate object representing the parsed date.
-     * @throws DateTimeParseException If the string cannot be parsed in any supported date format.
-     */
-    public static LocalDate parseDate(String dateStr) throws DateTimeParseException {
-        return parseDateHelper(dateStr.trim());
-    }
 }
@@ -3,13 +3,20 @@ package gbthefatboy.parser;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 
 import gbthefatboy.command.Command;
 import gbthefatboy.command.CommandType;
+import gbthefatboy.command.DateRange;
+import gbthefatboy.command.FindQuery;
+import gbthefatboy.command.ListOptions;
 import gbthefatboy.command.Tag;
+import gbthefatboy.exception.ErrorCode;
 import gbthefatboy.exception.GbException;
 import gbthefatboy.task.Deadline;
 import gbthefatboy.task.Event;
+import gbthefatboy.task.TaskFilter;
 import gbthefatboy.task.Todo;
 
 
@@ -18,22 +25,9 @@ import gbthefatboy.task.Todo;
  * Provides static methods to parse different types of tasks and extract command information.
  */
 public class Parser {
-
-    /*
-    * Helper function to assert that a string is not empty, that throws GbException
-    * Throws GbException for consistent error handling
-    *
-    * @param String str     The string object to check emptiness of.
-    * @param String message The message to accompany GbException.
-    * @throws GbException   If the command is empty.
-    * */
-    private static void assertNotEmpty(String str, String message) throws GbException {
-        try {
-            assert str != null && !str.trim().isEmpty() : message;
-        } catch (AssertionError e) {
-            throw new GbException("Internal error: " + message);
-        }
-    }
+    private static final String PENDING_OPTION = "--pending";
+    private static final String DONE_OPTION = "--done";
+    private static final String TYPE_OPTION = "--type";
 
     /**
      * Parses a full command string into a Command object.
@@ -44,19 +38,7 @@ public class Parser {
      * @throws GbException If the command is empty or invalid.
      */
     public static Command parse(String fullCommand) throws GbException {
-        if (fullCommand.trim().isEmpty()) {
-            throw new GbException("Invalid command: empty command");
-        }
-
-        String[] parts = fullCommand.trim().split(" ", 2);
-        assertNotEmpty(parts[0], "Command shouldn't be empty!");
-        try {
-            CommandType command = CommandType.fromString(parts[0]);
-            String arguments = parts.length > 1 ? parts[1] : " ";
-            return new Command(command, arguments.trim());
-        } catch (ArrayIndexOutOfBoundsException e) { // arguments
-            throw new GbException("Task description cannot be empty");
-        }
+        return CommandTokenizer.tokenize(fullCommand);
     }
 
     /**
@@ -68,7 +50,7 @@ public class Parser {
      */
     public static Todo parseTodo(String arguments) throws GbException {
         if (arguments.trim().isEmpty()) {
-            throw new GbException("Invalid Todo: description cannot be empty!");
+            throw new GbException(ErrorCode.EMPTY_TODO);
         }
 
         return new Todo(arguments);
@@ -83,23 +65,35 @@ public class Parser {
      * @throws GbException If the format is invalid, description/deadline is empty, or date format is invalid.
      */
     public static Deadline parseDeadline(String arguments) throws GbException {
-        if (!arguments.contains(" /by ")) {
-            throw new GbException("Invalid deadline format");
+        return parseDeadline(CommandTokenizer.tokenizeArguments(CommandType.DEADLINE, arguments));
+    }
+
+    /**
+     * Parses the arguments of a tokenized deadline command into a Deadline task,
+     * splitting them at the {@code /by} flag located by the tokenizer.
+     *
+     * @param command The tokenized deadline command.
+     * @return A Deadline object with the parsed description and deadline.
+     * @throws GbException If the format is invalid, description/deadline is empty, or date format is invalid.
+     */
+    public static Deadline parseDeadline(Command command) throws GbException {
+        int byOffset = command.getByOffset();
+        if (byOffset < 0) {
+            throw new GbException(ErrorCode.INVALID_DEADLINE_FORMAT);
         }
 
-        String[] deadlineParts = arguments.split(" /by ", 2);
-        String desc = deadlineParts[0];
-        String deadlineStr = deadlineParts[1];
-        if (desc.isEmpty() || deadlineStr.isEmpty()) {
-            throw new GbException("Task description and deadline cannot be empty");
+        int deadlineStart = byOffset + CommandTokenizer.BY_FLAG.length();
+        if (byOffset == command.getArgumentsStart() || deadlineStart == command.getArgumentsEnd()) {
+            throw new GbException(ErrorCode.EMPTY_DEADLINE);
         }
 
+        String deadlineStr = command.slice(deadlineStart, command.getArgumentsEnd()).trim();
         try {
             LocalDateTime deadlineDateTime =
-                    DateTimeParser.parseDateTime(deadlineStr.trim());
-            return new Deadline(desc.trim(), deadlineDateTime);
+                    DateTimeParser.parseDateTime(deadlineStr);
+            return new Deadline(command.slice(command.getArgumentsStart(), byOffset).trim(), deadlineDateTime);
         } catch (DateTimeParseException e) {
-            throw new GbException("Invalid date/time format " + deadlineParts[1]);
+            throw new GbException(ErrorCode.INVALID_DATE_TIME, deadlineStr);
         }
     }
 
@@ -113,30 +107,46 @@ public class Parser {
      *     any date is before start date.
      */
     public static Event parseEvent(String arguments) throws GbException {
-        if (!arguments.contains(" /from ") || !arguments.contains(" /to ")) {
-            throw new GbException("Invalid event format");
+        return parseEvent(CommandTokenizer.tokenizeArguments(CommandType.EVENT, arguments));
+    }
+
+    /**
+     * Parses the arguments of a tokenized event command into an Event task,
+     * splitting them at the {@code /from} and {@code /to} flags located by the tokenizer.
+     *
+     * @param command The tokenized event command.
+     * @return An Event object with the parsed description and date/time range.
+     * @throws GbException If the format is invalid, any field is empty, dates are invalid, or
+     *     any date is before start date.
+     */
+    public static Event parseEvent(Command command) throws GbException {
+        int fromOffset = command.getFromOffset();
+        int toOffset = command.getToOffset();
+        if (fromOffset < 0 || toOffset < 0) {
+            throw new GbException(ErrorCode.INVALID_EVENT_FORMAT);
         }
 
-        String[] eventParts = arguments.split(" /from ", 2);
-        String desc = eventParts[0];
-        String[] eventDates = eventParts[1].split(" /to ", 2);
-        String startDateStr = eventDates[0].trim();
-        String endDateStr = eventDates[1].trim();
+        String desc = command.slice(command.getArgumentsStart(), fromOffset);
+        String startDateStr = command.slice(fromOffset + CommandTokenizer.FROM_FLAG.length(), toOffset).trim();
+        String endDateStr = command.slice(toOffset + CommandTokenizer.TO_FLAG.length(),
+                command.getArgumentsEnd()).trim();
         if (desc.isEmpty() || startDateStr.isEmpty() || endDateStr.isEmpty()) {
-            throw new GbException("Description/startDate/endDate cannot be empty!");
+            throw new GbException(ErrorCode.EMPTY_EVENT);
         }
 
-        try {
-            LocalDateTime startDateTime = DateTimeParser.parseDateTime(startDateStr);
-            LocalDateTime endDateTime = DateTimeParser.parseDateTime(endDateStr);
-
-            if (endDateTime.isBefore(startDateTime)) {
-                throw new GbException("End date cannot be before start date!");
-            }
-            return new Event(desc, startDateTime, endDateTime);
+        LocalDateTime startDateTime = parseEventDateTime(startDateStr);
+        LocalDateTime endDateTime = parseEventDateTime(endDateStr);
+        if (endDateTime.isBefore(startDateTime)) {
+            throw new GbException(ErrorCode.END_BEFORE_START);
+        }
+        return new Event(desc, startDateTime, endDateTime);
+    }
 
+    private static LocalDateTime parseEventDateTime(String dateTime) throws GbException {
+        try {
+            return DateTimeParser.parseDateTime(dateTime);
         } catch (DateTimeParseException e) {
-            throw new GbException("Invalid date/time format in event dates");
+            throw new GbException(ErrorCode.INVALID_DATE_TIME, dateTime);
         }
     }
 
@@ -149,28 +159,106 @@ public class Parser {
      */
     public static int parseTaskIndex(String arguments) throws GbException {
         if (arguments.trim().isEmpty()) {
-            throw new GbException("Index cannot be empty!");
+            throw new GbException(ErrorCode.EMPTY_INDEX);
         }
 
         try {
             return Integer.parseInt(arguments.trim());
         } catch (NumberFormatException e) {
-            throw new GbException("Invalid index: index must be a whole number!");
+            throw new GbException(ErrorCode.INVALID_INDEX_FORMAT);
         }
     }
 
+    /**
+     * Parses the arguments of a tag command: the 1-based index of a task followed by one or more tags,
+     * each with or without a leading {@code #}.
+     *
+     * @param arguments The arguments of the tag command.
+     * @return The index and the tags, without their leading {@code #}.
+     * @throws GbException If the index or the tags are missing, or the index is not a number.
+     */
     public static Tag parseTag(String arguments) throws GbException {
-        if (arguments.trim().isEmpty()) {
-            throw new GbException("tag index and message cannot be empty!");
+        String[] parts = arguments.trim().split("\\s+");
+        if (parts.length < 2) {
+            throw new GbException(ErrorCode.EMPTY_TAG);
         }
-
+        int index;
         try {
-            String[] parts = arguments.split(" ");
-            int index = Integer.parseInt(parts[0]);
-            return new Tag(index, parts[1]);
+            index = Integer.parseInt(parts[0]);
         } catch (NumberFormatException e) {
-            throw new GbException("Invalid index. Index must be a whole number!");
+            throw new GbException(ErrorCode.INVALID_TAG_INDEX);
+        }
+        List<String> names = new ArrayList<>(parts.length - 1);
+        for (int i = 1; i < parts.length; i++) {
+            String name = stripHash(parts[i]);
+            if (name.isEmpty()) {
+                throw new GbException(ErrorCode.EMPTY_TAG);
+            }
+            names.add(name);
+        }
+        return new Tag(index, names);
+    }
+
+    /**
+     * Parses the arguments of a find command as a tag query, such as {@code #work #urgent}.
+     *
+     * @param arguments The arguments of the find command.
+     * @return The tags to look for, without their leading {@code #}, or an empty list if the arguments
+     *     are not all tags and should be searched for as a keyword instead.
+     */
+    public static List<String> parseTagQuery(String arguments) {
+        String trimmed = arguments.trim();
+        if (trimmed.isEmpty() || trimmed.charAt(0) != '#') {
+            return List.of();
+        }
+        String[] parts = trimmed.split("\\s+");
+        List<String> tags = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            String tag = stripHash(part);
+            if (part.charAt(0) != '#' || tag.isEmpty()) {
+                return List.of();
+            }
+            tags.add(tag);
         }
+        return tags;
+    }
+
+    /**
+     * Parses the arguments of a find command, such as {@code --pending --type D report}.
+     * Filter options may only come before the text looked for, so any text after them is kept as it is.
+     *
+     * @param arguments The arguments of the find command.
+     * @return The query.
+     * @throws GbException If a filter option is incomplete or names an unknown task type, or nothing is
+     *     left to look for after the options.
+     */
+    public static FindQuery parseFindQuery(String arguments) throws GbException {
+        TaskFilter filter = TaskFilter.ALL;
+        String keyword = arguments;
+        String rest = arguments.trim();
+        while (rest.startsWith("--")) {
+            String option = rest.split("\\s+", 2)[0];
+            if (!isFilterOption(option)) {
+                break;
+            }
+            int used = option.equals(TYPE_OPTION) ? 2 : 1;
+            String[] parts = rest.split("\\s+", used + 1);
+            filter = applyFilterOption(filter, parts, 0);
+            rest = parts.length > used ? parts[used] : "";
+            keyword = rest;
+        }
+        if (keyword.isBlank()) {
+            throw new GbException(ErrorCode.EMPTY_KEYWORD);
+        }
+        return new FindQuery(keyword, parseTagQuery(keyword), filter);
+    }
+
+    private static String stripHash(String tag) {
+        int start = 0;
+        while (start < tag.length() && tag.charAt(start) == '#') {
+            start++;
+        }
+        return tag.substring(start);
     }
 
     /**
@@ -182,13 +270,113 @@ public class Parser {
      */
     public static LocalDate parseDate(String arguments) throws GbException {
         if (arguments.trim().isEmpty()) {
-            throw new GbException("Date cannot be empty");
+            throw new GbException(ErrorCode.EMPTY_DATE);
         }
 
         try {
             return DateTimeParser.parseDate(arguments.trim());
         } catch (DateTimeParseException e) {
-            throw new GbException("Invalid date format: " + arguments);
+            throw new GbException(ErrorCode.INVALID_DATE, arguments);
+        }
+    }
+
+    /**
+     * Parses the arguments of find-date into a range of days.
+     * A single date yields a range covering just that day; two dates separated by whitespace
+     * yield the range between them, inclusive.
+     *
+     * @param arguments The string containing one or two dates.
+     * @return The range of days to search.
+     * @throws GbException If the arguments are empty, a date is invalid, or the range ends before it starts.
+     */
+    public static DateRange parseDateRange(String arguments) throws GbException {
+        String[] parts = arguments.trim().split("\\s+");
+        if (parts.length != 2) {
+            LocalDate date = parseDate(arguments);
+            return new DateRange(date, date);
+        }
+
+        LocalDate from = parseDate(parts[0]);
+        LocalDate to = parseDate(parts[1]);
+        if (to.isBefore(from)) {
+            throw new GbException(ErrorCode.INVALID_DATE_RANGE, to, from);
+        }
+        return new DateRange(from, to);
+    }
+
+    /**
+     * Parses the arguments of list into the page to show.
+     * Accepts an optional page number and an optional {@code --page-size <n>}, in either order.
+     *
+     * @param arguments The arguments of the list command, possibly empty.
+     * @return The page to show; the first page of the default size if no arguments are given.
+     * @throws GbException If an argument is not a positive number or a known option.
+     */
+    public static ListOptions parseListOptions(String arguments) throws GbException {
+        int page = 1;
+        int pageSize = ListOptions.DEFAULT_PAGE_SIZE;
+        TaskFilter filter = TaskFilter.ALL;
+        String trimmed = arguments.trim();
+        if (trimmed.isEmpty()) {
+            return new ListOptions(page, pageSize);
+        }
+
+        String[] parts = trimmed.split("\\s+");
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i].equals("--page-size")) {
+                if (i + 1 == parts.length) {
+                    throw new GbException(ErrorCode.INVALID_LIST_OPTION, parts[i]);
+                }
+                pageSize = parsePositive(parts[++i]);
+            } else if (isFilterOption(parts[i])) {
+                filter = applyFilterOption(filter, parts, i);
+                if (parts[i].equals(TYPE_OPTION)) {
+                    i++;
+                }
+            } else {
+                page = parsePositive(parts[i]);
+            }
+        }
+        return new ListOptions(page, pageSize, filter);
+    }
+
+    private static boolean isFilterOption(String part) {
+        return part.equals(PENDING_OPTION) || part.equals(DONE_OPTION) || part.equals(TYPE_OPTION);
+    }
+
+    /**
+     * Returns the filter narrowed by the filter option at the given position, which takes the
+     * following part as its value if it is {@code --type}.
+     */
+    private static TaskFilter applyFilterOption(TaskFilter filter, String[] parts, int i) throws GbException {
+        return switch (parts[i]) {
+        case PENDING_OPTION -> filter.withPending();
+        case DONE_OPTION -> filter.withDone();
+        default -> filter.withType(parseTaskType(parts, i));
+        };
+    }
+
+    private static TaskFilter.Type parseTaskType(String[] parts, int i) throws GbException {
+        if (i + 1 == parts.length) {
+            throw new GbException(ErrorCode.INVALID_FILTER_OPTION, parts[i]);
+        }
+        TaskFilter.Type type = TaskFilter.Type.fromCode(parts[i + 1]);
+        if (type == null) {
+            throw new GbException(ErrorCode.INVALID_FILTER_OPTION, parts[i] + " " + parts[i + 1]);
+        }
+        return type;
+    }
+
+    private static int parsePositive(String number) throws GbException {
+        int value;
+        try {
+            value = Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            value = 0;
+        }
+        if (value <= 0) {
+            throw new GbException(ErrorCode.INVALID_LIST_OPTION, number);
         }
+        return value;
     }
 }
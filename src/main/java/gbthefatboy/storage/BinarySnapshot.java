@@ -0,0 +1,237 @@
+package gbthefatboy.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import gbthefatboy.task.Deadline;
+import gbthefatboy.task.Event;
+import gbthefatboy.task.Task;
+import gbthefatboy.task.Todo;
+
+/**
+ * Reads and writes the binary snapshot format.
+ *
+ * <p>Layout: the 4 magic bytes {@code GBTF}, an unsigned short version, the int journal
+ * generation and the int task count, followed by one record per task. Each record is a
+ * type tag byte ({@code T}, {@code D} or {@code E}), a done flag byte, the int length and
+ * UTF-8 bytes of the description, for deadlines and events one or two long
+ * epoch-second timestamps (local date-times taken as UTC), and since version 2 an unsigned
+ * short count of tags followed by each tag in modified UTF-8 as written by
+ * {@link DataOutputStream#writeUTF(String)}.
+ *
+ * <p>Counts and lengths read from a file are checked against the bytes left in it, so a corrupt or
+ * truncated file fails with an {@link IOException} rather than an out-of-bounds read or a huge allocation.
+ */
+class BinarySnapshot {
+    static final byte[] MAGIC = {'G', 'B', 'T', 'F'};
+    static final int VERSION = 2;
+
+    private static final int FIRST_VERSION_WITH_TAGS = 2;
+
+    private static final byte TODO_TAG = 'T';
+    private static final byte DEADLINE_TAG = 'D';
+    private static final byte EVENT_TAG = 'E';
+
+    /**
+     * Writes the tasks as a binary snapshot.
+     *
+     * @param out The stream to write to; flushed but not closed.
+     * @param tasks The tasks to write.
+     * @param generation The first journal generation the snapshot does not contain.
+     * @throws IOException If writing fails.
+     */
+    static void write(OutputStream out, List<Task> tasks, int generation) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.write(MAGIC);
+        data.writeShort(VERSION);
+        data.writeInt(generation);
+        data.writeInt(tasks.size());
+        for (Task task : tasks) {
+            if (task instanceof Deadline) {
+                data.writeByte(DEADLINE_TAG);
+            } else if (task instanceof Event) {
+                data.writeByte(EVENT_TAG);
+            } else {
+                data.writeByte(TODO_TAG);
+            }
+            data.writeBoolean(task.isDone());
+            byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+            data.writeInt(description.length);
+            data.write(description);
+            if (task instanceof Deadline) {
+                data.writeLong(((Deadline) task).getDeadlineEpochSecond());
+            } else if (task instanceof Event) {
+                Event event = (Event) task;
+                data.writeLong(event.getStartEpochSecond());
+                data.writeLong(event.getEndEpochSecond());
+            }
+            data.writeShort(task.getTags().size());
+            for (String tag : task.getTags()) {
+                data.writeUTF(tag);
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads only the journal generation from the header of a binary snapshot.
+     *
+     * @param path The snapshot file.
+     * @return The journal generation recorded in the header.
+     * @throws IOException If the file is not a supported binary snapshot.
+     */
+    static int readGeneration(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            DataInputStream data = new DataInputStream(in);
+            readVersion(data);
+            return data.readInt();
+        } catch (EOFException e) {
+            throw new IOException("Snapshot file is truncated");
+        }
+    }
+
+    /**
+     * Reads a binary snapshot, handing the decoded tasks to the sink in file order.
+     *
+     * @param path The snapshot file.
+     * @param sink Receives the tasks in batches of at most {@code batchSize}.
+     * @param batchSize The maximum number of tasks per batch.
+     * @return The journal generation recorded in the header.
+     * @throws IOException If the file is not a supported binary snapshot or is truncated.
+     */
+    static int read(Path path, Consumer<List<Task>> sink, int batchSize) throws IOException {
+        long fileSize = Files.size(path);
+        try (InputStream in = Files.newInputStream(path)) {
+            CountingInputStream counted = new CountingInputStream(new BufferedInputStream(in, 1 << 16));
+            DataInputStream data = new DataInputStream(counted);
+            int version = readVersion(data);
+            int generation = data.readInt();
+            int count = data.readInt();
+            if (count < 0) {
+                throw new IOException("Invalid task count " + count);
+            }
+            List<Task> tasks = new ArrayList<>(Math.min(count, batchSize));
+            byte[] buffer = new byte[256];
+            for (int i = 0; i < count; i++) {
+                byte tag = data.readByte();
+                boolean isDone = data.readBoolean();
+                int length = data.readInt();
+                if (length < 0 || length > fileSize - counted.getCount()) {
+                    throw new IOException("Invalid description length " + length + " in record " + (i + 1));
+                }
+                if (length > buffer.length) {
+                    buffer = new byte[Math.max(length, buffer.length * 2)];
+                }
+                data.readFully(buffer, 0, length);
+                String description = new String(buffer, 0, length, StandardCharsets.UTF_8);
+                Task task;
+                switch (tag) {
+                case TODO_TAG:
+                    task = new Todo(description, isDone);
+                    break;
+                case DEADLINE_TAG:
+                    task = new Deadline(description, isDone, data.readLong());
+                    break;
+                case EVENT_TAG:
+                    long start = data.readLong();
+                    task = new Event(description, isDone, start, data.readLong());
+                    break;
+                default:
+                    throw new IOException("Unknown task type tag " + tag + " in record " + (i + 1));
+                }
+                if (version >= FIRST_VERSION_WITH_TAGS) {
+                    List<String> tags = readTags(data);
+                    if (!tags.isEmpty()) {
+                        task.addTags(tags);
+                    }
+                }
+                tasks.add(task);
+                if (tasks.size() == batchSize) {
+                    sink.accept(tasks);
+                    tasks = new ArrayList<>(batchSize);
+                }
+            }
+            if (!tasks.isEmpty()) {
+                sink.accept(tasks);
+            }
+            return generation;
+        } catch (EOFException e) {
+            throw new IOException("Snapshot file is truncated");
+        }
+    }
+
+    private static int readVersion(DataInputStream data) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        data.readFully(magic);
+        int version = data.readUnsignedShort();
+        if (version > VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        return version;
+    }
+
+    private static List<String> readTags(DataInputStream data) throws IOException {
+        int count = data.readUnsignedShort();
+        if (count == 0) {
+            return List.of();
+        }
+        List<String> tags = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tags.add(data.readUTF());
+        }
+        return tags;
+    }
+
+    /**
+     * Stream that counts the bytes read through it, so lengths can be checked against what is left.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package gbthefatboy.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import gbthefatboy.task.Deadline;
+import gbthefatboy.task.Event;
+import gbthefatboy.task.Task;
+import gbthefatboy.task.Todo;
+
+/**
+ * Task store that keeps tasks as columns rather than as task objects.
+ * The type of each task is a byte, its done flag a bit, its dates epoch seconds in {@code long} columns
+ * and its description UTF-8 bytes in one shared arena addressed by offset and length; the few tasks
+ * with tags keep them in a map. A million tasks thereby take a handful of arrays instead of a task
+ * object, a description string and its bytes each.
+ *
+ * <p>{@link Task} objects are built whenever a task is asked for, and are copies: changes go through
+ * the store. Renaming and removing tasks leave unused text in the arena, which is compacted once
+ * half of it is unused.
+ */
+class ColumnarTaskStore implements TaskStore {
+    private static final byte EMPTY = -1;
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private final BitSet done = new BitSet();
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private int[] textOffsets = new int[INITIAL_CAPACITY];
+    private int[] textLengths = new int[INITIAL_CAPACITY];
+    private final HashMap<Integer, Set<String>> tags = new HashMap<>();
+    private byte[] arena = new byte[INITIAL_CAPACITY * 32];
+    private int arenaUsed = 0;
+    private int arenaLive = 0;
+
+    ColumnarTaskStore() {
+        Arrays.fill(types, EMPTY);
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int oldCapacity = types.length;
+        int newCapacity = Math.max(capacity, grow(oldCapacity));
+        types = Arrays.copyOf(types, newCapacity);
+        Arrays.fill(types, oldCapacity, newCapacity, EMPTY);
+        starts = Arrays.copyOf(starts, newCapacity);
+        ends = Arrays.copyOf(ends, newCapacity);
+        textOffsets = Arrays.copyOf(textOffsets, newCapacity);
+        textLengths = Arrays.copyOf(textLengths, newCapacity);
+    }
+
+    @Override
+    public void put(int slot, Task task) {
+        if (task instanceof Deadline) {
+            types[slot] = DEADLINE;
+            starts[slot] = ((Deadline) task).getDeadlineEpochSecond();
+        } else if (task instanceof Event) {
+            types[slot] = EVENT;
+            starts[slot] = ((Event) task).getStartEpochSecond();
+            ends[slot] = ((Event) task).getEndEpochSecond();
+        } else {
+            types[slot] = TODO;
+        }
+        done.set(slot, task.isDone());
+        if (!task.getTags().isEmpty()) {
+            tags.put(slot, task.getTags());
+        }
+        writeText(slot, task.getDescription());
+    }
+
+    @Override
+    public Task get(int slot) {
+        if (types[slot] == EMPTY) {
+            return null;
+        }
+        String description = getDescription(slot);
+        boolean isDone = done.get(slot);
+        Task task = switch (types[slot]) {
+        case DEADLINE -> new Deadline(description, isDone, starts[slot]);
+        case EVENT -> new Event(description, isDone, starts[slot], ends[slot]);
+        default -> new Todo(description, isDone);
+        };
+        Set<String> taskTags = tags.get(slot);
+        if (taskTags != null) {
+            task.addTags(taskTags);
+        }
+        return task;
+    }
+
+    @Override
+    public boolean isOccupied(int slot) {
+        return types[slot] != EMPTY;
+    }
+
+    @Override
+    public String getDescription(int slot) {
+        return new String(arena, textOffsets[slot], textLengths[slot], StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void remove(int slot) {
+        types[slot] = EMPTY;
+        done.clear(slot);
+        tags.remove(slot);
+        arenaLive -= textLengths[slot];
+        textLengths[slot] = 0;
+    }
+
+    @Override
+    public void move(int from, int to) {
+        types[to] = types[from];
+        done.set(to, done.get(from));
+        starts[to] = starts[from];
+        ends[to] = ends[from];
+        textOffsets[to] = textOffsets[from];
+        textLengths[to] = textLengths[from];
+        Set<String> taskTags = tags.remove(from);
+        if (taskTags != null) {
+            tags.put(to, taskTags);
+        }
+        types[from] = EMPTY;
+        done.clear(from);
+        textLengths[from] = 0;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(types, EMPTY);
+        Arrays.fill(textLengths, 0);
+        done.clear();
+        tags.clear();
+        arena = new byte[INITIAL_CAPACITY * 32];
+        arenaUsed = 0;
+        arenaLive = 0;
+    }
+
+    @Override
+    public void setDone(int slot, boolean isDone) {
+        done.set(slot, isDone);
+    }
+
+    @Override
+    public void setDescription(int slot, String description) {
+        writeText(slot, description);
+    }
+
+    @Override
+    public boolean addTags(int slot, Collection<String> names) {
+        Set<String> taskTags = tags.getOrDefault(slot, Set.of());
+        LinkedHashSet<String> updated = new LinkedHashSet<>(taskTags);
+        if (!updated.addAll(names)) {
+            return false;
+        }
+        tags.put(slot, Collections.unmodifiableSet(updated));
+        return true;
+    }
+
+    /**
+     * Writes a description to the end of the arena, releasing the text the slot held before.
+     */
+    private void writeText(int slot, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        arenaLive -= textLengths[slot];
+        textLengths[slot] = 0;
+        if (arenaUsed + bytes.length > arena.length) {
+            compactIfSparse();
+            if (arenaUsed + bytes.length > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(grow(arena.length), arenaUsed + bytes.length));
+            }
+        }
+        System.arraycopy(bytes, 0, arena, arenaUsed, bytes.length);
+        textOffsets[slot] = arenaUsed;
+        textLengths[slot] = bytes.length;
+        arenaUsed += bytes.length;
+        arenaLive += bytes.length;
+    }
+
+    /**
+     * Returns the next capacity of a column or the arena. Growing by half rather than doubling keeps
+     * the unused tail small, which matters here since every slot costs a few dozen bytes of columns.
+     */
+    private static int grow(int capacity) {
+        return capacity + (capacity >> 1);
+    }
+
+    /**
+     * Rewrites the arena without the text of removed and renamed tasks once at least half of it is unused.
+     * The text keeps the order of the slots, which is the order it was written in for all but renamed tasks.
+     */
+    private void compactIfSparse() {
+        if (arenaUsed == 0 || arenaLive * 2 > arenaUsed) {
+            return;
+        }
+        byte[] compacted = new byte[Math.max(INITIAL_CAPACITY * 32, arenaLive * 2)];
+        int used = 0;
+        for (int slot = 0; slot < types.length; slot++) {
+            if (types[slot] != EMPTY) {
+                System.arraycopy(arena, textOffsets[slot], compacted, used, textLengths[slot]);
+                textOffsets[slot] = used;
+                used += textLengths[slot];
+            }
+        }
+        arena = compacted;
+        arenaUsed = used;
+    }
+}
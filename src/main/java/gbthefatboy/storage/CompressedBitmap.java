@@ -0,0 +1,536 @@
+package gbthefatboy.storage;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative int ids, in the style of a Roaring bitmap.
+ * Ids are split by their high 16 bits into chunks. A chunk holding at most {@link #ARRAY_LIMIT} ids
+ * keeps them as a sorted char array, and a fuller chunk keeps a 65536-bit bitmap, so sparse sets cost
+ * about two bytes per id and dense ones about one bit. Intersecting two sets takes time in proportion
+ * to the smaller chunk, or to the number of words when both chunks are bitmaps, rather than to the
+ * range of ids.
+ */
+class CompressedBitmap {
+    static final int ARRAY_LIMIT = 4096;
+
+    private static final int CHUNK_BITS = 1 << 16;
+    private static final int WORD_COUNT = CHUNK_BITS / Long.SIZE;
+
+    private int[] keys = new int[4];
+    private Chunk[] chunks = new Chunk[4];
+    private int chunkCount = 0;
+
+    /**
+     * Adds an id to the set.
+     *
+     * @param id The id, at least 0.
+     */
+    void add(int id) {
+        int high = id >>> 16;
+        int position = find(high);
+        if (position < 0) {
+            position = -position - 1;
+            insertChunk(position, high, new ArrayChunk());
+        }
+        chunks[position] = chunks[position].add((char) id);
+    }
+
+    /**
+     * Removes an id from the set, if present.
+     *
+     * @param id The id.
+     */
+    void remove(int id) {
+        int position = find(id >>> 16);
+        if (position < 0) {
+            return;
+        }
+        Chunk chunk = chunks[position].remove((char) id);
+        if (chunk.size() == 0) {
+            removeChunk(position);
+        } else {
+            chunks[position] = chunk;
+        }
+    }
+
+    boolean contains(int id) {
+        int position = find(id >>> 16);
+        return position >= 0 && chunks[position].contains((char) id);
+    }
+
+    boolean isEmpty() {
+        return chunkCount == 0;
+    }
+
+    /**
+     * Returns the number of ids in the set.
+     *
+     * @return The number of ids.
+     */
+    int getCardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            cardinality += chunks[i].size();
+        }
+        return cardinality;
+    }
+
+    void clear() {
+        Arrays.fill(chunks, 0, chunkCount, null);
+        chunkCount = 0;
+    }
+
+    /**
+     * Passes every id in the set to the consumer, in ascending order.
+     *
+     * @param consumer The consumer of the ids.
+     */
+    void forEach(IntConsumer consumer) {
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * Passes the ids at a range of positions in the set to the consumer, in ascending order.
+     * Chunks entirely before the range are skipped by their size without visiting their ids.
+     *
+     * @param skip The number of ids to skip from the smallest.
+     * @param limit The maximum number of ids to pass on.
+     * @param consumer The consumer of the ids.
+     */
+    void forEach(int skip, int limit, IntConsumer consumer) {
+        for (int i = 0; i < chunkCount && limit > 0; i++) {
+            int size = chunks[i].size();
+            if (skip >= size) {
+                skip -= size;
+                continue;
+            }
+            int count = Math.min(limit, size - skip);
+            chunks[i].forEach(keys[i] << 16, skip, count, consumer);
+            skip = 0;
+            limit -= count;
+        }
+    }
+
+    /**
+     * Returns the ids in both sets.
+     *
+     * @param first A set.
+     * @param second Another set.
+     * @return A new set.
+     */
+    static CompressedBitmap and(CompressedBitmap first, CompressedBitmap second) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < first.chunkCount && j < second.chunkCount) {
+            if (first.keys[i] < second.keys[j]) {
+                i++;
+            } else if (first.keys[i] > second.keys[j]) {
+                j++;
+            } else {
+                result.appendChunk(first.keys[i], first.chunks[i].and(second.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ids in either set.
+     *
+     * @param first A set.
+     * @param second Another set.
+     * @return A new set.
+     */
+    static CompressedBitmap or(CompressedBitmap first, CompressedBitmap second) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < first.chunkCount || j < second.chunkCount) {
+            if (j == second.chunkCount || (i < first.chunkCount && first.keys[i] < second.keys[j])) {
+                result.appendChunk(first.keys[i], first.chunks[i].copy());
+                i++;
+            } else if (i == first.chunkCount || first.keys[i] > second.keys[j]) {
+                result.appendChunk(second.keys[j], second.chunks[j].copy());
+                j++;
+            } else {
+                result.appendChunk(first.keys[i], first.chunks[i].or(second.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ids in the first set but not the second.
+     *
+     * @param first The set to take ids from.
+     * @param second The set of ids to leave out.
+     * @return A new set.
+     */
+    static CompressedBitmap andNot(CompressedBitmap first, CompressedBitmap second) {
+        CompressedBitmap result = new CompressedBitmap();
+        int j = 0;
+        for (int i = 0; i < first.chunkCount; i++) {
+            while (j < second.chunkCount && second.keys[j] < first.keys[i]) {
+                j++;
+            }
+            if (j < second.chunkCount && second.keys[j] == first.keys[i]) {
+                result.appendChunk(first.keys[i], first.chunks[i].andNot(second.chunks[j]));
+            } else {
+                result.appendChunk(first.keys[i], first.chunks[i].copy());
+            }
+        }
+        return result;
+    }
+
+    private int find(int high) {
+        return Arrays.binarySearch(keys, 0, chunkCount, high);
+    }
+
+    private void insertChunk(int position, int high, Chunk chunk) {
+        if (chunkCount == keys.length) {
+            keys = Arrays.copyOf(keys, chunkCount * 2);
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        System.arraycopy(keys, position, keys, position + 1, chunkCount - position);
+        System.arraycopy(chunks, position, chunks, position + 1, chunkCount - position);
+        keys[position] = high;
+        chunks[position] = chunk;
+        chunkCount++;
+    }
+
+    private void removeChunk(int position) {
+        System.arraycopy(keys, position + 1, keys, position, chunkCount - position - 1);
+        System.arraycopy(chunks, position + 1, chunks, position, chunkCount - position - 1);
+        chunks[--chunkCount] = null;
+    }
+
+    /**
+     * Adds a chunk after every chunk of the set, unless it is empty.
+     */
+    private void appendChunk(int high, Chunk chunk) {
+        if (chunk.size() > 0) {
+            insertChunk(chunkCount, high, chunk);
+        }
+    }
+
+    /**
+     * The ids sharing the same high 16 bits, identified by their low 16 bits.
+     * Changing a chunk may turn it into the other kind, so callers keep the chunk returned.
+     */
+    private abstract static class Chunk {
+        abstract int size();
+
+        abstract boolean contains(char low);
+
+        abstract Chunk add(char low);
+
+        abstract Chunk remove(char low);
+
+        abstract Chunk copy();
+
+        abstract void forEach(int base, IntConsumer consumer);
+
+        /**
+         * Passes the ids at positions {@code skip} to {@code skip + count - 1} of the chunk, which must exist.
+         */
+        abstract void forEach(int base, int skip, int count, IntConsumer consumer);
+
+        abstract Chunk and(Chunk other);
+
+        abstract Chunk or(Chunk other);
+
+        abstract Chunk andNot(Chunk other);
+    }
+
+    /**
+     * Chunk of at most {@link #ARRAY_LIMIT} ids, kept as a sorted array.
+     */
+    private static final class ArrayChunk extends Chunk {
+        private char[] values;
+        private int size;
+
+        ArrayChunk() {
+            this(new char[4], 0);
+        }
+
+        ArrayChunk(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, size, low) >= 0;
+        }
+
+        @Override
+        Chunk add(char low) {
+            int position = Arrays.binarySearch(values, 0, size, low);
+            if (position >= 0) {
+                return this;
+            }
+            if (size == ARRAY_LIMIT) {
+                return toBitChunk().add(low);
+            }
+            position = -position - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(size * 2, ARRAY_LIMIT));
+            }
+            System.arraycopy(values, position, values, position + 1, size - position);
+            values[position] = low;
+            size++;
+            return this;
+        }
+
+        @Override
+        Chunk remove(char low) {
+            int position = Arrays.binarySearch(values, 0, size, low);
+            if (position >= 0) {
+                System.arraycopy(values, position + 1, values, position, size - position - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk copy() {
+            return new ArrayChunk(Arrays.copyOf(values, Math.max(size, 1)), size);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        void forEach(int base, int skip, int count, IntConsumer consumer) {
+            for (int i = skip; i < skip + count; i++) {
+                consumer.accept(base | values[i]);
+            }
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            char[] result = new char[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayChunk(result, count);
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            if (other instanceof BitChunk) {
+                return other.or(this);
+            }
+            ArrayChunk array = (ArrayChunk) other;
+            if (size + array.size > ARRAY_LIMIT) {
+                return toBitChunk().or(other);
+            }
+            char[] result = new char[size + array.size];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size || j < array.size) {
+                if (j == array.size || (i < size && values[i] < array.values[j])) {
+                    result[count++] = values[i++];
+                } else if (i == size || values[i] > array.values[j]) {
+                    result[count++] = array.values[j++];
+                } else {
+                    result[count++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayChunk(result, count);
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            char[] result = new char[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayChunk(result, count);
+        }
+
+        BitChunk toBitChunk() {
+            BitChunk bits = new BitChunk(new long[WORD_COUNT], 0);
+            for (int i = 0; i < size; i++) {
+                bits.add(values[i]);
+            }
+            return bits;
+        }
+    }
+
+    /**
+     * Chunk of more than {@link #ARRAY_LIMIT} ids, kept as one bit per possible id.
+     */
+    private static final class BitChunk extends Chunk {
+        private final long[] words;
+        private int size;
+
+        BitChunk(long[] words, int size) {
+            this.words = words;
+            this.size = size;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Chunk add(char low) {
+            long word = words[low >>> 6];
+            long updated = word | (1L << low);
+            if (updated != word) {
+                words[low >>> 6] = updated;
+                size++;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk remove(char low) {
+            long word = words[low >>> 6];
+            long updated = word & ~(1L << low);
+            if (updated != word) {
+                words[low >>> 6] = updated;
+                size--;
+            }
+            return size > ARRAY_LIMIT ? this : toArrayChunk();
+        }
+
+        @Override
+        Chunk copy() {
+            return new BitChunk(words.clone(), size);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer consumer) {
+            for (int i = 0; i < WORD_COUNT; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept(base | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        void forEach(int base, int skip, int count, IntConsumer consumer) {
+            int position = 0;
+            int end = skip + count;
+            for (int i = 0; i < WORD_COUNT && position < end; i++) {
+                long word = words[i];
+                int bits = Long.bitCount(word);
+                if (position + bits <= skip) {
+                    position += bits;
+                    continue;
+                }
+                for (; word != 0 && position < end; position++) {
+                    if (position >= skip) {
+                        consumer.accept(base | (i << 6) | Long.numberOfTrailingZeros(word));
+                    }
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            if (other instanceof ArrayChunk) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitChunk) other).words;
+            long[] result = new long[WORD_COUNT];
+            int count = 0;
+            for (int i = 0; i < WORD_COUNT; i++) {
+                result[i] = words[i] & otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+            return shrink(result, count);
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            BitChunk result = (BitChunk) copy();
+            if (other instanceof ArrayChunk) {
+                ArrayChunk array = (ArrayChunk) other;
+                for (int i = 0; i < array.size; i++) {
+                    result.add(array.values[i]);
+                }
+                return result;
+            }
+            long[] otherWords = ((BitChunk) other).words;
+            int count = 0;
+            for (int i = 0; i < WORD_COUNT; i++) {
+                result.words[i] |= otherWords[i];
+                count += Long.bitCount(result.words[i]);
+            }
+            result.size = count;
+            return result;
+        }
+
+        @Override
+        Chunk andNot(Chunk other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayChunk) {
+                ArrayChunk array = (ArrayChunk) other;
+                int count = size;
+                for (int i = 0; i < array.size; i++) {
+                    char low = array.values[i];
+                    if ((result[low >>> 6] & (1L << low)) != 0) {
+                        result[low >>> 6] &= ~(1L << low);
+                        count--;
+                    }
+                }
+                return shrink(result, count);
+            }
+            long[] otherWords = ((BitChunk) other).words;
+            int count = 0;
+            for (int i = 0; i < WORD_COUNT; i++) {
+                result[i] &= ~otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+            return shrink(result, count);
+        }
+
+        private static Chunk shrink(long[] words, int size) {
+            BitChunk bits = new BitChunk(words, size);
+            return size > ARRAY_LIMIT ? bits : bits.toArrayChunk();
+        }
+
+        ArrayChunk toArrayChunk() {
+            char[] values = new char[Math.max(size, 1)];
+            int[] count = {0};
+            forEach(0, id -> values[count[0]++] = (char) id);
+            return new ArrayChunk(values, size);
+        }
+    }
+}
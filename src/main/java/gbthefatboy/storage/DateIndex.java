@@ -0,0 +1,133 @@
+package gbthefatboy.storage;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.TreeMap;
+
+import gbthefatboy.task.Deadline;
+import gbthefatboy.task.Event;
+import gbthefatboy.task.Task;
+
+/**
+ * Index from calendar days to the ids of the deadlines due and the events running on that day.
+ * Days are bucketed by epoch day in a sorted map, so a query for a range of days only visits the
+ * buckets inside the range. Events spanning more than {@link #MAX_BUCKETED_DAYS} days are kept
+ * aside and checked individually rather than being copied into every bucket they cover.
+ */
+class DateIndex {
+    static final int MAX_BUCKETED_DAYS = 62;
+
+    private final TreeMap<Long, IntList> days = new TreeMap<>();
+    private final HashMap<Integer, long[]> longEvents = new HashMap<>();
+
+    /**
+     * Indexes a task if it has dates.
+     *
+     * @param id The task id.
+     * @param task The task.
+     */
+    void add(int id, Task task) {
+        if (task instanceof Deadline) {
+            bucket(((Deadline) task).getDeadlineEpochDay()).insertSorted(id);
+        } else if (task instanceof Event) {
+            long start = ((Event) task).getStartEpochDay();
+            long end = ((Event) task).getEndEpochDay();
+            if (end < start) {
+                bucket(start).insertSorted(id);
+                bucket(end).insertSorted(id);
+            } else if (end - start < MAX_BUCKETED_DAYS) {
+                for (long day = start; day <= end; day++) {
+                    bucket(day).insertSorted(id);
+                }
+            } else {
+                longEvents.put(id, new long[] {start, end});
+            }
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param id The task id.
+     * @param task The task, with the dates it was indexed with.
+     */
+    void remove(int id, Task task) {
+        if (task instanceof Deadline) {
+            unbucket(((Deadline) task).getDeadlineEpochDay(), id);
+        } else if (task instanceof Event) {
+            long start = ((Event) task).getStartEpochDay();
+            long end = ((Event) task).getEndEpochDay();
+            if (end < start) {
+                unbucket(start, id);
+                unbucket(end, id);
+            } else if (end - start < MAX_BUCKETED_DAYS) {
+                for (long day = start; day <= end; day++) {
+                    unbucket(day, id);
+                }
+            } else {
+                longEvents.remove(id);
+            }
+        }
+    }
+
+    void clear() {
+        days.clear();
+        longEvents.clear();
+    }
+
+    /**
+     * Returns the ids of the tasks falling on any day between the two dates, inclusive.
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range.
+     * @return The matching ids in ascending order, without duplicates.
+     */
+    IntList find(LocalDate from, LocalDate to) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        IntList result = new IntList();
+        for (IntList ids : days.subMap(first, true, last, true).values()) {
+            for (int i = 0; i < ids.size(); i++) {
+                result.add(ids.get(i));
+            }
+        }
+        for (var entry : longEvents.entrySet()) {
+            long[] span = entry.getValue();
+            if (span[0] <= last && span[1] >= first) {
+                result.add(entry.getKey());
+            }
+        }
+        return sortedDistinct(result);
+    }
+
+    private IntList bucket(long day) {
+        return days.computeIfAbsent(day, key -> new IntList());
+    }
+
+    private void unbucket(long day, int id) {
+        IntList ids = days.get(day);
+        if (ids == null) {
+            return;
+        }
+        ids.removeSorted(id);
+        if (ids.isEmpty()) {
+            days.remove(day);
+        }
+    }
+
+    private static IntList sortedDistinct(IntList ids) {
+        int[] values = new int[ids.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ids.get(i);
+        }
+        Arrays.sort(values);
+        IntList result = new IntList(values.length);
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                result.add(values[i]);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+package gbthefatboy.storage;
+
+import java.util.EnumMap;
+
+import gbthefatboy.task.Task;
+import gbthefatboy.task.TaskFilter;
+
+/**
+ * Index of the ids of the tasks that are done and of the tasks of each type, kept as one
+ * {@link CompressedBitmap} each. The ids passing a {@link TaskFilter} are found by uniting the
+ * bitmaps of the wanted types and intersecting the result with, or subtracting, the done bitmap,
+ * without visiting any task.
+ */
+class FilterIndex {
+    private final CompressedBitmap done = new CompressedBitmap();
+    private final EnumMap<TaskFilter.Type, CompressedBitmap> types = new EnumMap<>(TaskFilter.Type.class);
+
+    FilterIndex() {
+        for (TaskFilter.Type type : TaskFilter.Type.values()) {
+            types.put(type, new CompressedBitmap());
+        }
+    }
+
+    /**
+     * Indexes the type and done state of a task.
+     *
+     * @param id The task id.
+     * @param task The task.
+     */
+    void add(int id, Task task) {
+        types.get(TaskFilter.Type.of(task)).add(id);
+        setDone(id, task.isDone());
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param id The task id.
+     * @param task The task.
+     */
+    void remove(int id, Task task) {
+        types.get(TaskFilter.Type.of(task)).remove(id);
+        done.remove(id);
+    }
+
+    /**
+     * Records that a task was marked or unmarked.
+     *
+     * @param id The task id.
+     * @param isDone Whether the task is now done.
+     */
+    void setDone(int id, boolean isDone) {
+        if (isDone) {
+            done.add(id);
+        } else {
+            done.remove(id);
+        }
+    }
+
+    void clear() {
+        done.clear();
+        for (CompressedBitmap ids : types.values()) {
+            ids.clear();
+        }
+    }
+
+    /**
+     * Returns the ids of the tasks passing a filter.
+     *
+     * @param filter The filter.
+     * @return A new set of ids.
+     */
+    CompressedBitmap find(TaskFilter filter) {
+        CompressedBitmap ids = new CompressedBitmap();
+        for (TaskFilter.Type type : filter.getTypes()) {
+            ids = CompressedBitmap.or(ids, types.get(type));
+        }
+        if (!filter.showsDone()) {
+            return CompressedBitmap.andNot(ids, done);
+        } else if (!filter.showsPending()) {
+            return CompressedBitmap.and(ids, done);
+        }
+        return ids;
+    }
+}
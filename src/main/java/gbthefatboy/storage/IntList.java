@@ -0,0 +1,86 @@
+package gbthefatboy.storage;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, kept in ascending order when used as a posting list.
+ */
+class IntList {
+    private int[] values;
+    private int size;
+
+    IntList() {
+        this(4);
+    }
+
+    IntList(int capacity) {
+        this.values = new int[Math.max(capacity, 1)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int get(int position) {
+        return values[position];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Inserts a value keeping the list sorted, ignoring values already present.
+     *
+     * @param value The value to insert.
+     */
+    void insertSorted(int value) {
+        if (size == 0 || values[size - 1] < value) {
+            add(value);
+            return;
+        }
+        int position = Arrays.binarySearch(values, 0, size, value);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        System.arraycopy(values, position, values, position + 1, size - position);
+        values[position] = value;
+        size++;
+    }
+
+    /**
+     * Removes a value from a sorted list if present.
+     *
+     * @param value The value to remove.
+     */
+    void removeSorted(int value) {
+        int position = Arrays.binarySearch(values, 0, size, value);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Checks whether a sorted list contains the value, searching from the given position onwards.
+     *
+     * @param value The value to look for.
+     * @param from The first position to search.
+     * @return The position of the value, or a negative insertion point as in {@link Arrays#binarySearch}.
+     */
+    int searchSorted(int value, int from) {
+        return Arrays.binarySearch(values, from, size, value);
+    }
+}
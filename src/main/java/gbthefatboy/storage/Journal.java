@@ -0,0 +1,179 @@
+package gbthefatboy.storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Append-only log of task list mutations kept next to the snapshot file.
+ * The log is split into numbered segments so that a snapshot can record which
+ * segments it already contains, and stale segments are never replayed twice.
+ */
+class Journal {
+    private static final String SEGMENT_SUFFIX = ".journal.";
+
+    private final Path directory;
+    private final String segmentPrefix;
+    private BufferedWriter writer;
+    private int generation = -1;
+    private int recordCount = 0;
+    private boolean isFlushingEachRecord = true;
+
+    /**
+     * Creates a journal whose segments live beside the given snapshot file.
+     *
+     * @param snapshotPath The path of the snapshot file the journal belongs to.
+     */
+    Journal(Path snapshotPath) {
+        Path parent = snapshotPath.toAbsolutePath().getParent();
+        this.directory = parent;
+        this.segmentPrefix = snapshotPath.getFileName().toString() + SEGMENT_SUFFIX;
+    }
+
+    /**
+     * Lists the generations of all journal segments on disk in ascending order.
+     *
+     * @return The sorted segment generations.
+     * @throws IOException If the directory cannot be listed.
+     */
+    List<Integer> listGenerations() throws IOException {
+        List<Integer> generations = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return generations;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, segmentPrefix + "*")) {
+            for (Path segment : stream) {
+                String suffix = segment.getFileName().toString().substring(segmentPrefix.length());
+                try {
+                    generations.add(Integer.parseInt(suffix));
+                } catch (NumberFormatException e) {
+                    System.err.println("Ignoring unknown journal file: " + segment);
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    /**
+     * Checks whether any segment on disk holds at least one record.
+     *
+     * @return True if some segment is non-empty.
+     * @throws IOException If the segments cannot be inspected.
+     */
+    boolean hasRecords() throws IOException {
+        for (int segment : listGenerations()) {
+            if (Files.size(segmentPath(segment)) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads every record of the given segment.
+     *
+     * @param generation The segment generation.
+     * @return The records in the order they were written.
+     * @throws IOException If the segment cannot be read.
+     */
+    List<String> readSegment(int generation) throws IOException {
+        return Files.readAllLines(segmentPath(generation), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Opens the segment of the given generation for appending, closing any segment currently open.
+     *
+     * @param generation The segment generation to append to.
+     * @param existingRecords The number of records not yet folded into the snapshot.
+     * @throws IOException If the segment cannot be opened.
+     */
+    void open(int generation, int existingRecords) throws IOException {
+        close();
+        this.writer = Files.newBufferedWriter(segmentPath(generation), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.generation = generation;
+        this.recordCount = existingRecords;
+    }
+
+    /**
+     * Appends a single record, flushing it to the operating system unless flushing is deferred.
+     *
+     * @param record The record to append.
+     * @throws IOException If the record cannot be written.
+     */
+    void append(String record) throws IOException {
+        writer.write(record);
+        writer.newLine();
+        if (isFlushingEachRecord) {
+            writer.flush();
+        }
+        recordCount++;
+    }
+
+    /**
+     * Chooses whether each record is flushed as it is appended or left in the write buffer.
+     * Turning per-record flushing back on flushes the records buffered so far.
+     *
+     * @param isFlushingEachRecord True to flush every record.
+     * @throws IOException If the buffered records cannot be flushed.
+     */
+    void setFlushingEachRecord(boolean isFlushingEachRecord) throws IOException {
+        this.isFlushingEachRecord = isFlushingEachRecord;
+        if (isFlushingEachRecord && writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Deletes every segment older than the given generation.
+     *
+     * @param generation The oldest generation to keep.
+     * @throws IOException If the directory cannot be listed.
+     */
+    void deleteSegmentsBefore(int generation) throws IOException {
+        for (int oldGeneration : listGenerations()) {
+            if (oldGeneration < generation) {
+                Files.deleteIfExists(segmentPath(oldGeneration));
+            }
+        }
+    }
+
+    /**
+     * Closes the segment currently open for appending, if any.
+     */
+    void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("Error closing journal: " + e.getMessage());
+        }
+        writer = null;
+    }
+
+    boolean isOpen() {
+        return writer != null;
+    }
+
+    int getGeneration() {
+        return generation;
+    }
+
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    private Path segmentPath(int generation) {
+        return directory.resolve(segmentPrefix + generation);
+    }
+}
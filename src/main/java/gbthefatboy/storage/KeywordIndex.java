@@ -0,0 +1,123 @@
+package gbthefatboy.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Inverted index from character trigrams of task descriptions to the ids of the tasks containing them.
+ * Any keyword of at least three characters can only occur in a description that contains all of its
+ * trigrams, so intersecting their posting lists yields a small candidate set that callers confirm with
+ * {@link String#contains}, keeping plain substring semantics.
+ * When even the rarest trigram of a keyword occurs in a large share of the tasks, confirming that many
+ * candidates one by one costs more than scanning every description in list order, so no candidates
+ * are offered and callers scan instead.
+ */
+class KeywordIndex {
+    static final int GRAM_LENGTH = 3;
+    static final int SCAN_FRACTION = 12;
+
+    private final HashMap<Long, IntList> postings = new HashMap<>();
+
+    /**
+     * Indexes the description of a task.
+     *
+     * @param id The task id.
+     * @param description The task description.
+     */
+    void add(int id, String description) {
+        for (long gram : distinctGrams(description)) {
+            postings.computeIfAbsent(gram, key -> new IntList()).insertSorted(id);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param id The task id.
+     * @param description The description the task was indexed with.
+     */
+    void remove(int id, String description) {
+        for (long gram : distinctGrams(description)) {
+            IntList ids = postings.get(gram);
+            if (ids == null) {
+                continue;
+            }
+            ids.removeSorted(id);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Returns the ids of tasks whose description may contain the keyword, in ascending order, unless
+     * the rarest trigram of the keyword occurs in more than one in {@link #SCAN_FRACTION} of the tasks.
+     *
+     * @param keyword The keyword, at least {@link #GRAM_LENGTH} characters long.
+     * @param taskCount The number of tasks in the list.
+     * @return The candidate ids, among which is every task containing the keyword, or null if scanning
+     *     every description would be cheaper.
+     */
+    IntList candidates(String keyword, int taskCount) {
+        assert keyword.length() >= GRAM_LENGTH : "keyword too short for the trigram index";
+        List<IntList> lists = new ArrayList<>();
+        for (long gram : distinctGrams(keyword)) {
+            IntList ids = postings.get(gram);
+            if (ids == null) {
+                return new IntList();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(IntList::size));
+
+        IntList smallest = lists.get(0);
+        if ((long) smallest.size() * SCAN_FRACTION > taskCount) {
+            return null;
+        }
+        IntList result = new IntList(smallest.size());
+        int[] cursors = new int[lists.size()];
+        for (int i = 0; i < smallest.size(); i++) {
+            int id = smallest.get(i);
+            boolean isInAll = true;
+            for (int j = 1; j < lists.size() && isInAll; j++) {
+                int position = lists.get(j).searchSorted(id, cursors[j]);
+                if (position >= 0) {
+                    cursors[j] = position + 1;
+                } else {
+                    cursors[j] = -position - 1;
+                    isInAll = false;
+                }
+            }
+            if (isInAll) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static long[] distinctGrams(String text) {
+        int count = text.length() - GRAM_LENGTH + 1;
+        if (count <= 0) {
+            return new long[0];
+        }
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+}
@@ -0,0 +1,69 @@
+package gbthefatboy.storage;
+
+/**
+ * Time spent in each phase of the most recent {@link Storage#loadTasks()} call.
+ * Reported by the stats command.
+ */
+public class LoadTimings {
+    private long splitNanos;
+    private long parseNanos;
+    private long mergeNanos;
+    private long replayNanos;
+    private int chunkCount = 1;
+    private int taskCount;
+
+    void setSplitNanos(long nanos) {
+        this.splitNanos = nanos;
+    }
+
+    void setParseNanos(long nanos) {
+        this.parseNanos = nanos;
+    }
+
+    void setMergeNanos(long nanos) {
+        this.mergeNanos = nanos;
+    }
+
+    void setReplayNanos(long nanos) {
+        this.replayNanos = nanos;
+    }
+
+    void setChunkCount(int chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public double getSplitMillis() {
+        return splitNanos / 1_000_000.0;
+    }
+
+    public double getParseMillis() {
+        return parseNanos / 1_000_000.0;
+    }
+
+    public double getMergeMillis() {
+        return mergeNanos / 1_000_000.0;
+    }
+
+    public double getReplayMillis() {
+        return replayNanos / 1_000_000.0;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d tasks in %d chunk(s): map/split %.1f ms, parse %.1f ms, merge %.1f ms, "
+                + "journal replay %.1f ms", taskCount, chunkCount, getSplitMillis(), getParseMillis(),
+                getMergeMillis(), getReplayMillis());
+    }
+}
@@ -0,0 +1,76 @@
+package gbthefatboy.storage;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import gbthefatboy.task.Task;
+
+/**
+ * Task store that keeps the task objects themselves, so a task keeps its identity and cached rendering
+ * for as long as it is in the list. Changes are made on the task.
+ */
+class ObjectTaskStore implements TaskStore {
+    private Task[] slots = new Task[16];
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (capacity > slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(capacity, slots.length * 2));
+        }
+    }
+
+    @Override
+    public void put(int slot, Task task) {
+        slots[slot] = task;
+    }
+
+    @Override
+    public Task get(int slot) {
+        return slots[slot];
+    }
+
+    @Override
+    public boolean isOccupied(int slot) {
+        return slots[slot] != null;
+    }
+
+    @Override
+    public String getDescription(int slot) {
+        return slots[slot].getDescription();
+    }
+
+    @Override
+    public void remove(int slot) {
+        slots[slot] = null;
+    }
+
+    @Override
+    public void move(int from, int to) {
+        slots[to] = slots[from];
+        slots[from] = null;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, null);
+    }
+
+    @Override
+    public void setDone(int slot, boolean isDone) {
+        if (isDone) {
+            slots[slot].mark();
+        } else {
+            slots[slot].unmark();
+        }
+    }
+
+    @Override
+    public void setDescription(int slot, String description) {
+        slots[slot].setDescription(description);
+    }
+
+    @Override
+    public boolean addTags(int slot, Collection<String> names) {
+        return slots[slot].addTags(names);
+    }
+}
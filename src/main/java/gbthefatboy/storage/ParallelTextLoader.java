@@ -0,0 +1,184 @@
+package gbthefatboy.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import gbthefatboy.task.Task;
+
+/**
+ * Loads large text snapshots by memory-mapping the file, cutting it into chunks on line
+ * boundaries and parsing the chunks in parallel on the common fork-join pool.
+ * Tasks are delivered in their original file order.
+ */
+class ParallelTextLoader {
+    /** Files smaller than this are cheaper to read serially. */
+    static final long PARALLEL_THRESHOLD_BYTES = 4L << 20;
+
+    private static final long MIN_CHUNK_BYTES = 1L << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int BOUNDARY_PROBE_BYTES = 4096;
+
+    /**
+     * Parses every line of the file into tasks, handing each chunk's tasks to the sink in file
+     * order as soon as that chunk and all chunks before it are parsed.
+     *
+     * @param path The text snapshot.
+     * @param lineParser Converts a line into a task, or null to skip the line. Must be thread-safe.
+     * @param sink Receives the parsed tasks chunk by chunk, on the calling thread.
+     * @param timings Receives the duration of each phase.
+     * @throws IOException If the file cannot be mapped or read.
+     */
+    static void load(Path path, Function<String, Task> lineParser, Consumer<List<Task>> sink,
+            LoadTimings timings) throws IOException {
+        load(path, lineParser, sink, timings, 0);
+    }
+
+    /**
+     * Parses every line of the file into tasks as {@link #load(Path, Function, Consumer, LoadTimings)} does,
+     * cutting the file into the given number of chunks rather than one chosen from its size.
+     *
+     * @param path The text snapshot.
+     * @param lineParser Converts a line into a task, or null to skip the line. Must be thread-safe.
+     * @param sink Receives the parsed tasks chunk by chunk, on the calling thread.
+     * @param timings Receives the duration of each phase.
+     * @param chunkCount The number of chunks, or 0 to choose it from the size of the file.
+     * @throws IOException If the file cannot be mapped or read.
+     */
+    static void load(Path path, Function<String, Task> lineParser, Consumer<List<Task>> sink,
+            LoadTimings timings, int chunkCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long start = System.nanoTime();
+            long[] boundaries = splitOnLines(channel, chunkCount > 0 ? chunkCount : countChunks(channel.size()));
+            long split = System.nanoTime();
+
+            List<ChunkParser> chunks = new ArrayList<>();
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                ChunkParser chunk = new ChunkParser(channel, boundaries[i], boundaries[i + 1], lineParser);
+                ForkJoinPool.commonPool().execute(chunk);
+                chunks.add(chunk);
+            }
+            long mergeNanos = 0;
+            try {
+                for (ChunkParser chunk : chunks) {
+                    List<Task> tasks = chunk.join();
+                    long merge = System.nanoTime();
+                    sink.accept(tasks);
+                    mergeNanos += System.nanoTime() - merge;
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            long end = System.nanoTime();
+
+            timings.setSplitNanos(split - start);
+            timings.setParseNanos(end - split - mergeNanos);
+            timings.setMergeNanos(mergeNanos);
+            timings.setChunkCount(chunks.size());
+        }
+    }
+
+    private static int countChunks(long size) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        return (int) Math.max(1, Math.min((long) parallelism * CHUNKS_PER_THREAD, size / MIN_CHUNK_BYTES));
+    }
+
+    /**
+     * Picks chunk boundaries of roughly equal size, each moved forward to just past a newline.
+     * Chunks that a long line swallows whole end up empty.
+     */
+    private static long[] splitOnLines(FileChannel channel, int chunkCount) throws IOException {
+        long size = channel.size();
+        long[] boundaries = new long[chunkCount + 1];
+        boundaries[chunkCount] = size;
+        ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE_BYTES);
+        for (int i = 1; i < chunkCount; i++) {
+            long position = Math.max(size / chunkCount * i, boundaries[i - 1]);
+            boundaries[i] = nextLineStart(channel, position, probe);
+        }
+        return boundaries;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer probe) throws IOException {
+        long size = channel.size();
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Maps and parses one chunk of the file.
+     */
+    private static class ChunkParser extends RecursiveTask<List<Task>> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long start;
+        private final long end;
+        private final transient Function<String, Task> lineParser;
+
+        ChunkParser(FileChannel channel, long start, long end, Function<String, Task> lineParser) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.lineParser = lineParser;
+        }
+
+        @Override
+        protected List<Task> compute() {
+            if (end <= start) {
+                return new ArrayList<>();
+            }
+            MappedByteBuffer mapped;
+            try {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            CharBuffer chars = StandardCharsets.UTF_8.decode(mapped);
+            List<Task> tasks = new ArrayList<>((int) ((end - start) / 32));
+            int lineStart = 0;
+            int length = chars.length();
+            for (int i = 0; i <= length; i++) {
+                if (i < length && chars.get(i) != '\n') {
+                    continue;
+                }
+                int lineEnd = i;
+                if (lineEnd > lineStart && chars.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+                if (i < length || lineEnd > lineStart) {
+                    Task task = lineParser.apply(chars.subSequence(lineStart, lineEnd).toString());
+                    if (task != null) {
+                        tasks.add(task);
+                    }
+                }
+                lineStart = i + 1;
+            }
+            return tasks;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package gbthefatboy.storage;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import gbthefatboy.metrics.LatencyHistogram;
+
+/**
+ * Counters describing how the write-behind snapshot writer has behaved so far.
+ * Updated from both the command thread and the writer thread.
+ */
+public class PersistenceStats {
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong failedFlushCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private final LatencyHistogram flushLatency = new LatencyHistogram();
+
+    void recordFlush(long nanos) {
+        flushCount.incrementAndGet();
+        totalFlushNanos.addAndGet(nanos);
+        maxFlushNanos.accumulateAndGet(nanos, Math::max);
+        lastFlushNanos = nanos;
+        flushLatency.record(nanos);
+    }
+
+    void recordFailure() {
+        failedFlushCount.incrementAndGet();
+    }
+
+    void recordCoalesced(long writes) {
+        coalescedCount.addAndGet(writes);
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getFailedFlushCount() {
+        return failedFlushCount.get();
+    }
+
+    /**
+     * Returns how many requested writes were absorbed into another flush instead of getting their own.
+     *
+     * @return The number of coalesced writes.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public double getLastFlushMillis() {
+        return lastFlushNanos / 1_000_000.0;
+    }
+
+    public double getMaxFlushMillis() {
+        return maxFlushNanos.get() / 1_000_000.0;
+    }
+
+    public LatencyHistogram getFlushLatency() {
+        return flushLatency;
+    }
+
+    /**
+     * Returns the mean time taken to write a snapshot.
+     *
+     * @return The average flush latency in milliseconds, or 0 if nothing was flushed.
+     */
+    public double getAverageFlushMillis() {
+        long flushes = flushCount.get();
+        return flushes == 0 ? 0 : totalFlushNanos.get() / 1_000_000.0 / flushes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("flushes: %d (failed: %d), coalesced writes: %d, "
+                + "flush latency avg/last/max: %.2f/%.2f/%.2f ms",
+                getFlushCount(), getFailedFlushCount(), getCoalescedCount(),
+                getAverageFlushMillis(), getLastFlushMillis(), getMaxFlushMillis());
+    }
+}
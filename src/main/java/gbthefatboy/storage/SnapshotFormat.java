@@ -0,0 +1,63 @@
+package gbthefatboy.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * On-disk encodings supported for the task snapshot file.
+ */
+public enum SnapshotFormat {
+    /** Human-readable pipe-delimited lines, one task per line. */
+    TEXT,
+    /** Compact length-prefixed records behind a magic/version header, see {@link BinarySnapshot}. */
+    BINARY;
+
+    private static final String BINARY_EXTENSION = ".bin";
+
+    /**
+     * Picks the format for a data file from its extension: {@code .bin} files are binary,
+     * everything else is text.
+     *
+     * @param filePath The data file path.
+     * @return The format new snapshots of the file are written in.
+     */
+    public static SnapshotFormat forPath(String filePath) {
+        return filePath.endsWith(BINARY_EXTENSION) ? BINARY : TEXT;
+    }
+
+    /**
+     * Returns the format with the given name, ignoring case, as given on the command line.
+     *
+     * @param name The name, {@code text} or {@code binary}.
+     * @return The format.
+     * @throws IllegalArgumentException If no format has the name.
+     */
+    public static SnapshotFormat fromName(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Detects the format an existing snapshot file was written in by checking for the binary magic.
+     *
+     * @param path The snapshot file.
+     * @return The detected format.
+     * @throws IOException If the file cannot be read.
+     */
+    static SnapshotFormat detect(Path path) throws IOException {
+        byte[] magic = new byte[BinarySnapshot.MAGIC.length];
+        try (InputStream in = Files.newInputStream(path)) {
+            if (in.readNBytes(magic, 0, magic.length) < magic.length) {
+                return TEXT;
+            }
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (magic[i] != BinarySnapshot.MAGIC[i]) {
+                return TEXT;
+            }
+        }
+        return BINARY;
+    }
+}
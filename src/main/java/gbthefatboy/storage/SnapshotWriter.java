@@ -0,0 +1,131 @@
+package gbthefatboy.storage;
+
+import java.io.IOException;
+import java.util.List;
+
+import gbthefatboy.task.Task;
+
+/**
+ * Write-behind worker that rewrites the snapshot file on a dedicated thread.
+ * Only the most recent pending snapshot is kept, so a burst of save requests that arrive
+ * while a write is in progress collapses into a single write.
+ */
+class SnapshotWriter {
+
+    /**
+     * Destination that serialises a snapshot, called on the writer thread.
+     */
+    interface Sink {
+        void write(List<Task> tasks, int generation) throws IOException;
+    }
+
+    private final Sink sink;
+    private final PersistenceStats stats;
+    private Thread thread;
+    private List<Task> pendingTasks;
+    private int pendingGeneration;
+    private boolean isWriting = false;
+    private boolean isStopped = false;
+    private String lastError;
+
+    SnapshotWriter(Sink sink, PersistenceStats stats) {
+        this.sink = sink;
+        this.stats = stats;
+    }
+
+    /**
+     * Queues a snapshot for writing, replacing any snapshot that has not started writing yet.
+     *
+     * @param tasks The tasks to write; must not be modified afterwards.
+     * @param generation The generation header the snapshot is written with.
+     */
+    synchronized void submit(List<Task> tasks, int generation) {
+        if (pendingTasks != null) {
+            stats.recordCoalesced(1);
+        }
+        pendingTasks = tasks;
+        pendingGeneration = generation;
+        if (thread == null) {
+            thread = new Thread(this::run, "gb-snapshot-writer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        notifyAll();
+    }
+
+    synchronized boolean isIdle() {
+        return pendingTasks == null && !isWriting;
+    }
+
+    /**
+     * Blocks until every submitted snapshot has been written.
+     *
+     * @return The error of the last write, or null if it succeeded.
+     */
+    synchronized String awaitIdle() {
+        boolean isInterrupted = false;
+        while (!isIdle()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return lastError;
+    }
+
+    /**
+     * Writes any pending snapshot and stops the writer thread.
+     */
+    void shutdown() {
+        awaitIdle();
+        synchronized (this) {
+            isStopped = true;
+            notifyAll();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            List<Task> tasks;
+            int generation;
+            synchronized (this) {
+                while (pendingTasks == null && !isStopped) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pendingTasks == null) {
+                    thread = null;
+                    return;
+                }
+                tasks = pendingTasks;
+                generation = pendingGeneration;
+                pendingTasks = null;
+                isWriting = true;
+            }
+
+            long start = System.nanoTime();
+            String error = null;
+            try {
+                sink.write(tasks, generation);
+                stats.recordFlush(System.nanoTime() - start);
+            } catch (IOException | RuntimeException e) {
+                error = e.getMessage();
+                stats.recordFailure();
+                System.err.println("Error writing snapshot: " + error);
+            }
+
+            synchronized (this) {
+                lastError = error;
+                isWriting = false;
+                notifyAll();
+            }
+        }
+    }
+}
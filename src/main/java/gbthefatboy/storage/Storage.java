@@ -2,18 +2,25 @@ package gbthefatboy.storage;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 import gbthefatboy.exception.GbException;
+import gbthefatboy.metrics.LatencyHistogram;
 import gbthefatboy.task.Deadline;
 import gbthefatboy.task.Event;
 import gbthefatboy.task.Task;
@@ -22,18 +29,50 @@ import gbthefatboy.task.Todo;
 /**
  * Handles file-based storage and retrieval of tasks.
  * Manages reading from and writing to a persistent storage file.
+ * Individual mutations are appended to a {@link Journal}, and the snapshot file is rewritten
+ * in the background by a {@link SnapshotWriter} that coalesces bursts of changes into one write.
  */
 public class Storage {
+    private static final int COMPACTION_THRESHOLD = 1000;
+    private static final long SAVE_INTERVAL_NANOS = 2_000_000_000L;
+    private static final long INCREMENTAL_LOAD_THRESHOLD_BYTES = 1L << 20;
+    private static final int LOAD_BATCH_SIZE = 4096;
+    private static final String GENERATION_HEADER = "# gen ";
+
     private final String filePath;
+    private final SnapshotFormat format;
+    private final Journal journal;
+    private final PersistenceStats stats = new PersistenceStats();
+    private final SnapshotWriter writer = new SnapshotWriter(this::writeSnapshot, stats);
+    private volatile int generation = 0;
+    private volatile boolean isJournalBroken = false;
+    private volatile boolean isReadOnly = false;
+    private int unsavedRecords = 0;
+    private long lastSaveRequestNanos = System.nanoTime();
+    private LoadTimings timings = new LoadTimings();
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
 
     /**
      * Creates a new Storage instance with the specified file path.
-     * Creates the directory structure if it doesn't exist.
+     * The snapshot format is chosen from the file extension, see {@link SnapshotFormat#forPath(String)}.
      *
      * @param filePath The file path where tasks will be stored.
      */
     public Storage(String filePath) {
+        this(filePath, SnapshotFormat.forPath(filePath));
+    }
+
+    /**
+     * Creates a new Storage instance that writes snapshots in the given format.
+     * Creates the directory structure if it doesn't exist.
+     *
+     * @param filePath The file path where tasks will be stored.
+     * @param format The format snapshots are written in; existing files in another format are migrated.
+     */
+    public Storage(String filePath, SnapshotFormat format) {
         this.filePath = filePath;
+        this.format = format;
+        this.journal = new Journal(Paths.get(filePath));
         createDirectoryIfNotExists();
     }
 
@@ -54,7 +93,9 @@ public class Storage {
     }
 
     /**
-     * Loads tasks from the storage file.
+     * Loads tasks from the storage file and replays any journaled mutations on top of it.
+     * If the file was written in a different format than this storage uses, it is rewritten
+     * once in the configured format.
      * If the file doesn't exist, returns an empty task list.
      *
      * @return An ArrayList containing all loaded tasks.
@@ -62,44 +103,490 @@ public class Storage {
      */
     public ArrayList<Task> loadTasks() throws GbException {
         ArrayList<Task> tasks = new ArrayList<>();
-        File file = new File(filePath);
+        Path path = Paths.get(filePath);
+        boolean isMigrationNeeded = false;
+        timings = new LoadTimings();
+        long start = System.nanoTime();
 
-        if (!file.exists()) {
+        if (!Files.exists(path)) {
             System.out.println("TodoList file not found! Starting with empty task list");
-            return tasks;
+        } else {
+            try {
+                SnapshotFormat foundFormat = SnapshotFormat.detect(path);
+                readSnapshot(path, foundFormat, tasks::addAll);
+                isMigrationNeeded = foundFormat != format;
+                System.out.println("Loaded " + tasks.size() + " tasks from storage");
+            } catch (IOException e) {
+                throw new GbException("Error reading from file: " + e.getMessage());
+            }
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+        long replayStart = System.nanoTime();
+        replayJournal(tasks);
+        timings.setReplayNanos(System.nanoTime() - replayStart);
+        timings.setTaskCount(tasks.size());
+        loadLatency.record(System.nanoTime() - start);
+        if (isMigrationNeeded) {
+            saveTasks(tasks);
+            System.out.println("Converted data file to " + format.name().toLowerCase() + " format");
+        }
+        return tasks;
+    }
+
+    /**
+     * Prepares the storage for {@link #loadTasksIncrementally(Consumer)}.
+     * Incremental loading is only used for large snapshots that have no journaled changes to
+     * replay and need no format migration, as both require the complete list first.
+     * When this returns true the journal is already open, so changes made while the rest of
+     * the list loads are recorded against the right generation.
+     *
+     * @return True if the snapshot can be loaded incrementally.
+     */
+    public boolean prepareIncrementalLoad() {
+        Path path = Paths.get(filePath);
+        try {
+            if (!Files.exists(path) || Files.size(path) < INCREMENTAL_LOAD_THRESHOLD_BYTES
+                    || SnapshotFormat.detect(path) != format || journal.hasRecords()) {
+                return false;
+            }
+            generation = format == SnapshotFormat.BINARY
+                    ? BinarySnapshot.readGeneration(path)
+                    : readTextGeneration(path);
+            List<Integer> segments = journal.listGenerations();
+            int nextGeneration = segments.isEmpty()
+                    ? generation
+                    : Math.max(generation, segments.get(segments.size() - 1) + 1);
+            journal.open(nextGeneration, 0);
+            journal.deleteSegmentsBefore(nextGeneration);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Incremental loading unavailable: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Loads the snapshot prepared by {@link #prepareIncrementalLoad()}, handing tasks to the sink
+     * in file order as they are parsed. Meant to run on a background thread.
+     *
+     * @param sink Receives the loaded tasks in batches.
+     * @throws GbException If there's an error reading from the file.
+     */
+    public void loadTasksIncrementally(Consumer<List<Task>> sink) throws GbException {
+        timings = new LoadTimings();
+        long start = System.nanoTime();
+        int[] count = new int[1];
+        try {
+            readSnapshot(Paths.get(filePath), format, batch -> {
+                count[0] += batch.size();
+                sink.accept(batch);
+            });
+        } catch (IOException e) {
+            throw new GbException("Error reading from file: " + e.getMessage());
+        }
+        timings.setTaskCount(count[0]);
+        loadLatency.record(System.nanoTime() - start);
+        System.out.println("Loaded " + count[0] + " tasks from storage");
+    }
+
+    private void readSnapshot(Path path, SnapshotFormat foundFormat, Consumer<List<Task>> sink)
+            throws IOException {
+        long start = System.nanoTime();
+        if (foundFormat == SnapshotFormat.BINARY) {
+            generation = BinarySnapshot.read(path, sink, LOAD_BATCH_SIZE);
+            timings.setParseNanos(System.nanoTime() - start);
+        } else if (Files.size(path) >= ParallelTextLoader.PARALLEL_THRESHOLD_BYTES) {
+            ParallelTextLoader.load(path, this::parseSnapshotLine, sink, timings);
+        } else {
+            readTextSnapshot(path, sink);
+            timings.setParseNanos(System.nanoTime() - start);
+        }
+    }
+
+    private void readTextSnapshot(Path path, Consumer<List<Task>> sink) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            List<Task> tasks = new ArrayList<>();
             String line;
             while ((line = reader.readLine()) != null) {
-                Task task = parseTask(line);
+                Task task = parseSnapshotLine(line);
                 if (task != null) {
                     tasks.add(task);
                 }
+                if (tasks.size() == LOAD_BATCH_SIZE) {
+                    sink.accept(tasks);
+                    tasks = new ArrayList<>();
+                }
+            }
+            if (!tasks.isEmpty()) {
+                sink.accept(tasks);
+            }
+        }
+    }
+
+    private int readTextGeneration(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            return line != null && line.startsWith(GENERATION_HEADER) ? parseGeneration(line) : 0;
+        }
+    }
+
+    /**
+     * Parses one line of a text snapshot, recording the generation header if the line is one.
+     * Safe to call from several loader threads at once.
+     *
+     * @param line The snapshot line.
+     * @return The parsed task, or null if the line holds no task.
+     */
+    private Task parseSnapshotLine(String line) {
+        if (line.startsWith(GENERATION_HEADER)) {
+            generation = parseGeneration(line);
+            return null;
+        }
+        return parseTask(line);
+    }
+
+    /**
+     * Applies every journal segment not yet contained in the snapshot, then opens a fresh
+     * segment for the mutations of this session.
+     *
+     * @param tasks The tasks loaded from the snapshot, updated in place.
+     * @throws GbException If the journal cannot be read or opened.
+     */
+    private void replayJournal(ArrayList<Task> tasks) throws GbException {
+        try {
+            int replayed = 0;
+            int nextGeneration = generation;
+            for (int segment : journal.listGenerations()) {
+                if (segment < generation) {
+                    continue;
+                }
+                for (String record : journal.readSegment(segment)) {
+                    if (applyRecord(tasks, record)) {
+                        replayed++;
+                    }
+                }
+                nextGeneration = segment + 1;
+            }
+            if (replayed > 0) {
+                System.out.println("Replayed " + replayed + " journaled changes");
             }
-            System.out.println("Loaded " + tasks.size() + " tasks from storage");
+            journal.deleteSegmentsBefore(generation);
+            journal.open(nextGeneration, replayed);
+            unsavedRecords = replayed;
         } catch (IOException e) {
-            throw new GbException("Error reading from file: " + e.getMessage());
+            throw new GbException("Error reading journal: " + e.getMessage());
         }
+    }
 
-        return tasks;
+    /**
+     * Applies a single journal record to the task list.
+     *
+     * @param tasks The task list to update.
+     * @param record The journal record.
+     * @return True if the record was applied, false if it was skipped.
+     */
+    private boolean applyRecord(ArrayList<Task> tasks, String record) {
+        if (record.isEmpty()) {
+            return false;
+        }
+        String[] parts = record.split(" \\| ", 3);
+        try {
+            switch (parts[0]) {
+            case "ADD":
+                Task task = parseTask(record.substring("ADD | ".length()));
+                if (task == null) {
+                    return false;
+                }
+                tasks.add(task);
+                return true;
+            case "MARK":
+                tasks.get(Integer.parseInt(parts[1]) - 1).mark();
+                return true;
+            case "UNMARK":
+                tasks.get(Integer.parseInt(parts[1]) - 1).unmark();
+                return true;
+            case "DELETE":
+                tasks.remove(Integer.parseInt(parts[1]) - 1);
+                return true;
+            case "DESC":
+                tasks.get(Integer.parseInt(parts[1]) - 1).setDescription(unescapeField(parts[2]));
+                return true;
+            case "TAG":
+                tasks.get(Integer.parseInt(parts[1]) - 1).addTags(parseTags(parts[2]));
+                return true;
+            default:
+                System.err.println("Unknown journal record: " + record);
+                return false;
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error replaying journal record: " + record + " - " + e.getMessage());
+            return false;
+        }
     }
 
     /**
-     * Saves the provided list of tasks to the storage file.
-     * Overwrites the existing file content.
+     * Journals that a task was appended to the end of the list.
+     *
+     * @param task The task that was added.
+     */
+    public void appendAdd(Task task) {
+        appendRecord("ADD | " + formatTask(task));
+    }
+
+    /**
+     * Journals that the task at the given 1-based index was marked as done.
+     *
+     * @param index The 1-based index of the task.
+     */
+    public void appendMark(int index) {
+        appendRecord("MARK | " + index);
+    }
+
+    /**
+     * Journals that the task at the given 1-based index was marked as not done.
+     *
+     * @param index The 1-based index of the task.
+     */
+    public void appendUnmark(int index) {
+        appendRecord("UNMARK | " + index);
+    }
+
+    /**
+     * Journals that the task at the given 1-based index was deleted.
+     *
+     * @param index The 1-based index of the deleted task.
+     */
+    public void appendDelete(int index) {
+        appendRecord("DELETE | " + index);
+    }
+
+    /**
+     * Journals that the description of the task at the given 1-based index changed.
+     *
+     * @param index The 1-based index of the task.
+     * @param description The new description.
+     */
+    public void appendDescription(int index, String description) {
+        appendRecord("DESC | " + index + " | " + escapeField(description));
+    }
+
+    /**
+     * Journals that tags were added to the task at the given 1-based index.
+     *
+     * @param index The 1-based index of the task.
+     * @param names The added tags, without their leading {@code #}.
+     */
+    public void appendTags(int index, Collection<String> names) {
+        appendRecord("TAG | " + index + " | " + formatTags(names));
+    }
+
+    /**
+     * Appends a record to the journal. A failed append is not fatal because the next
+     * snapshot rewrites the whole file, so it only makes that snapshot due immediately.
+     *
+     * @param record The record to append.
+     */
+    private synchronized void appendRecord(String record) {
+        if (isReadOnly) {
+            return;
+        }
+        unsavedRecords++;
+        try {
+            if (!journal.isOpen()) {
+                journal.open(Math.max(generation, journal.getGeneration()), 0);
+            }
+            journal.append(record);
+        } catch (IOException e) {
+            System.err.println("Error writing to journal: " + e.getMessage());
+            isJournalBroken = true;
+        }
+    }
+
+    /**
+     * Starts a batch of mutations whose journal records are buffered instead of flushed one by one.
+     * Callers are expected to save once the batch is done.
+     */
+    public synchronized void beginBatch() {
+        try {
+            journal.setFlushingEachRecord(false);
+        } catch (IOException e) {
+            System.err.println("Error writing to journal: " + e.getMessage());
+            isJournalBroken = true;
+        }
+    }
+
+    /**
+     * Ends a batch started by {@link #beginBatch()}, flushing the buffered journal records.
+     */
+    public synchronized void endBatch() {
+        try {
+            journal.setFlushingEachRecord(true);
+        } catch (IOException e) {
+            System.err.println("Error writing to journal: " + e.getMessage());
+            isJournalBroken = true;
+        }
+    }
+
+    public synchronized boolean hasUnsavedChanges() {
+        return !isReadOnly && (unsavedRecords > 0 || isJournalBroken);
+    }
+
+    /**
+     * Stops persisting changes, for when a background load failed partway and the task list only
+     * holds part of the data file. Later mutations are no longer journaled and saves are ignored,
+     * so the partial list can never replace the file. Records journaled before the failure are
+     * kept, as they apply to the complete list.
+     */
+    public void setReadOnly() {
+        isReadOnly = true;
+    }
+
+    /**
+     * Checks whether the snapshot should be rewritten in the background now.
+     * Saves are spaced out by a minimum interval so that bursts of mutations share one write,
+     * and are skipped while the writer is still busy with the previous snapshot.
+     *
+     * @return True if {@link #saveTasksAsync(List)} should be called.
+     */
+    public synchronized boolean isSaveDue() {
+        if (!hasUnsavedChanges()) {
+            return false;
+        }
+        if (!writer.isIdle()) {
+            return false;
+        }
+        return isJournalBroken
+                || journal.getRecordCount() >= COMPACTION_THRESHOLD
+                || System.nanoTime() - lastSaveRequestNanos >= SAVE_INTERVAL_NANOS;
+    }
+
+    /**
+     * Hands the task list to the background writer and starts a new journal segment
+     * for subsequent mutations. Returns without waiting for the write.
+     * The list is written as given rather than copied, so it must not change afterwards;
+     * pass a snapshot such as {@link TaskList#snapshotTasks()}.
+     * Does nothing once the storage is read-only, see {@link #setReadOnly()}.
+     *
+     * @param tasks The current list of tasks, not to be modified afterwards.
+     */
+    public synchronized void saveTasksAsync(List<Task> tasks) {
+        if (isReadOnly) {
+            System.err.println("Not saving: the task list was only partly loaded");
+            return;
+        }
+        int nextGeneration = Math.max(generation, journal.getGeneration()) + 1;
+        try {
+            journal.open(nextGeneration, 0);
+            isJournalBroken = false;
+        } catch (IOException e) {
+            System.err.println("Error rotating journal: " + e.getMessage());
+            isJournalBroken = true;
+        }
+        if (unsavedRecords > 1) {
+            stats.recordCoalesced(unsavedRecords - 1);
+        }
+        unsavedRecords = 0;
+        lastSaveRequestNanos = System.nanoTime();
+        writer.submit(tasks, nextGeneration);
+    }
+
+    /**
+     * Saves the provided list of tasks to the storage file and waits for the write to finish.
+     * Overwrites the existing file content and discards the journal segments it now contains.
      *
      * @param tasks The list of tasks to save.
      * @throws GbException If there's an error writing to the file.
      */
-    public void saveTasks(ArrayList<Task> tasks) throws GbException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for (Task task: tasks) {
-                writer.write(formatTask(task));
-                writer.newLine();
+    public void saveTasks(List<Task> tasks) throws GbException {
+        saveTasksAsync(tasks);
+        flush();
+    }
+
+    /**
+     * Blocks until the background writer has written every submitted snapshot.
+     *
+     * @throws GbException If the last snapshot could not be written.
+     */
+    public void flush() throws GbException {
+        String error = writer.awaitIdle();
+        if (error != null) {
+            isJournalBroken = true;
+            throw new GbException("Error writing to file: " + error);
+        }
+    }
+
+    /**
+     * Waits for pending snapshot writes, then stops the writer and closes the journal.
+     */
+    public void close() {
+        writer.shutdown();
+        journal.close();
+    }
+
+    public PersistenceStats getPersistenceStats() {
+        return stats;
+    }
+
+    /**
+     * Returns the latencies of every load so far, from reading the file to replaying the journal.
+     *
+     * @return The load latency histogram.
+     */
+    public LatencyHistogram getLoadLatency() {
+        return loadLatency;
+    }
+
+    public LoadTimings getLoadTimings() {
+        return timings;
+    }
+
+    /**
+     * Writes a snapshot to a temporary file and atomically renames it over the data file,
+     * so a crash mid-write leaves the previous snapshot intact. Runs on the writer thread.
+     *
+     * @param tasks The tasks to write.
+     * @param snapshotGeneration The first journal generation the snapshot does not contain.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    private void writeSnapshot(List<Task> tasks, int snapshotGeneration) throws IOException {
+        Path target = Paths.get(filePath);
+        Path temp = Paths.get(filePath + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+            if (format == SnapshotFormat.BINARY) {
+                BinarySnapshot.write(out, tasks, snapshotGeneration);
+            } else {
+                writeTextSnapshot(out, tasks, snapshotGeneration);
             }
-        } catch (IOException e) {
-            throw new GbException("Error writing to file: " + e.getMessage());
+            out.getFD().sync();
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        generation = snapshotGeneration;
+        journal.deleteSegmentsBefore(snapshotGeneration);
+    }
+
+    private void writeTextSnapshot(OutputStream out, List<Task> tasks, int snapshotGeneration)
+            throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(GENERATION_HEADER + snapshotGeneration);
+        writer.newLine();
+        for (Task task: tasks) {
+            writer.write(formatTask(task));
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    private int parseGeneration(String header) {
+        try {
+            return Integer.parseInt(header.substring(GENERATION_HEADER.length()).trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Corrupted snapshot header: " + header);
+            return 0;
         }
     }
 
@@ -111,23 +598,94 @@ public class Storage {
      */
     private String formatTask(Task task) {
         String isDone = task.isDone() ? "1" : "0";
+        String description = escapeField(task.getDescription());
+        String tags = task.getTags().isEmpty() ? "" : " | " + formatTags(task.getTags());
 
         if (task instanceof Todo) {
-            return String.format("T | %s | %s", isDone, task.getDescription());
+            return String.format("T | %s | %s", isDone, description) + tags;
         } else if (task instanceof Deadline) {
             Deadline deadline = (Deadline) task;
-            return String.format("D | %s | %s | %s", isDone, deadline.getDescription(),
-                    deadline.getDeadlineForStorage());
+            return String.format("D | %s | %s | %s", isDone, description,
+                    deadline.getDeadlineForStorage()) + tags;
         } else if (task instanceof Event) {
             Event event = (Event) task;
             return String.format("E | %s | %s | %s | %s", isDone,
-                    event.getDescription(), event.getStartDateTimeForStorage(),
-                    event.getEndDateTimeForStorage());
+                    description, event.getStartDateTimeForStorage(),
+                    event.getEndDateTimeForStorage()) + tags;
         }
 
         return "";
     }
 
+    /**
+     * Escapes a free-text field of a task line or journal record by putting a backslash before
+     * every {@code |} and backslash, so a {@code " | "} inside it is not read as a field separator.
+     */
+    private static String escapeField(String text) {
+        if (text.indexOf('|') < 0 && text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '|' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Reverses {@link #escapeField(String)}. A backslash not followed by {@code |} or another
+     * backslash is kept as it is.
+     */
+    private static String unescapeField(String field) {
+        if (field.indexOf('\\') < 0) {
+            return field;
+        }
+        StringBuilder text = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\\' && i + 1 < field.length()
+                    && (field.charAt(i + 1) == '|' || field.charAt(i + 1) == '\\')) {
+                c = field.charAt(++i);
+            }
+            text.append(c);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Formats tags as stored in a task line or journal record: each with a leading {@code #},
+     * separated by spaces.
+     */
+    private static String formatTags(Collection<String> names) {
+        return "#" + String.join(" #", names);
+    }
+
+    /**
+     * Returns the number of fields in a task line of the given type before the optional tags field.
+     */
+    private static int fieldCountWithoutTags(String type) {
+        return switch (type) {
+        case "T" -> 3;
+        case "D" -> 4;
+        default -> 5;
+        };
+    }
+
+    private static List<String> parseTags(String field) {
+        List<String> names = new ArrayList<>();
+        for (String part : field.trim().split(" +")) {
+            String name = part.startsWith("#") ? part.substring(1) : part;
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
     /**
      * Parses the task from the data file into the specific task object
      *
@@ -148,17 +706,17 @@ public class Storage {
 
             String type = parts[0].trim();
             boolean isDone = parts[1].trim().equals("1");
-            String description = parts[2].trim();
+            String description = unescapeField(parts[2].trim());
 
             Task task = null;
             switch(type) {
             case "T":
-                if (parts.length == 3) {
+                if (parts.length == 3 || parts.length == 4) {
                     task = new Todo(description, isDone);
                 }
                 break;
             case "D":
-                if (parts.length == 4) {
+                if (parts.length == 4 || parts.length == 5) {
                     String dateTimeStr = parts[3].trim();
                     try {
                         LocalDateTime deadline = LocalDateTime.parse(dateTimeStr,
@@ -171,7 +729,7 @@ public class Storage {
                 }
                 break;
             case "E":
-                if (parts.length == 5) {
+                if (parts.length == 5 || parts.length == 6) {
                     String startDateStr = parts[3].trim();
                     String endDateStr = parts[4].trim();
                     try {
@@ -191,6 +749,9 @@ public class Storage {
                 System.err.println("Unknown task type: " + type);
                 return null;
             }
+            if (task != null && parts.length > fieldCountWithoutTags(type)) {
+                task.addTags(parseTags(parts[parts.length - 1]));
+            }
             return task;
         } catch (Exception e) {
             System.err.println("Error parsing task: " + line + " - " + e.getMessage());
@@ -0,0 +1,101 @@
+package gbthefatboy.storage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import gbthefatboy.task.Task;
+
+/**
+ * Index from tags to the ids of the tasks carrying them, kept as one {@link CompressedBitmap} per tag.
+ * Finding the tasks with several tags intersects their bitmaps, starting from the rarest tag, so it
+ * takes time in proportion to the tasks with those tags rather than to the length of the list.
+ */
+class TagIndex {
+    private final HashMap<String, CompressedBitmap> tags = new HashMap<>();
+
+    /**
+     * Indexes every tag of a task.
+     *
+     * @param id The task id.
+     * @param task The task.
+     */
+    void add(int id, Task task) {
+        add(id, task.getTags());
+    }
+
+    /**
+     * Indexes tags added to a task.
+     *
+     * @param id The task id.
+     * @param names The tags.
+     */
+    void add(int id, Collection<String> names) {
+        for (String name : names) {
+            tags.computeIfAbsent(name, key -> new CompressedBitmap()).add(id);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param id The task id.
+     * @param task The task, with the tags it was indexed with.
+     */
+    void remove(int id, Task task) {
+        for (String name : task.getTags()) {
+            CompressedBitmap ids = tags.get(name);
+            if (ids == null) {
+                continue;
+            }
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                tags.remove(name);
+            }
+        }
+    }
+
+    void clear() {
+        tags.clear();
+    }
+
+    /**
+     * Returns the ids of the tasks carrying every one of the given tags.
+     *
+     * @param names The tags, at least one.
+     * @return The matching ids, which may be the index's own bitmap and must not be changed.
+     */
+    CompressedBitmap find(Collection<String> names) {
+        List<CompressedBitmap> bitmaps = new ArrayList<>(names.size());
+        for (String name : names) {
+            CompressedBitmap ids = tags.get(name);
+            if (ids == null) {
+                return new CompressedBitmap();
+            }
+            bitmaps.add(ids);
+        }
+        bitmaps.sort(Comparator.comparingInt(CompressedBitmap::getCardinality));
+        CompressedBitmap result = bitmaps.get(0);
+        for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+            result = CompressedBitmap.and(result, bitmaps.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns every tag in use with the number of tasks carrying it.
+     *
+     * @return The tags in alphabetical order, mapped to their task counts.
+     */
+    TreeMap<String, Integer> counts() {
+        TreeMap<String, Integer> counts = new TreeMap<>();
+        for (Map.Entry<String, CompressedBitmap> entry : tags.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().getCardinality());
+        }
+        return counts;
+    }
+}
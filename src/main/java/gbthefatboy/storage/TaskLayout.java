@@ -0,0 +1,27 @@
+package gbthefatboy.storage;
+
+import java.util.Locale;
+
+/**
+ * Ways a {@link TaskList} can keep its tasks in memory.
+ */
+public enum TaskLayout {
+    /** One object per task, kept as given; fastest to read, and tasks keep their identity. */
+    OBJECTS,
+    /**
+     * Columns of primitives and one shared description arena, see {@link ColumnarTaskStore}; less memory,
+     * but every task read is built anew.
+     */
+    COLUMNS;
+
+    /**
+     * Returns the layout with the given name, ignoring case, as given on the command line.
+     *
+     * @param name The name, {@code objects} or {@code columns}.
+     * @return The layout.
+     * @throws IllegalArgumentException If no layout has the name.
+     */
+    public static TaskLayout fromName(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
@@ -2,25 +2,78 @@ package gbthefatboy.storage;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntSupplier;
 
+import gbthefatboy.exception.ErrorCode;
 import gbthefatboy.exception.GbException;
-import gbthefatboy.task.Deadline;
-import gbthefatboy.task.Event;
+import gbthefatboy.task.DescriptionPool;
 import gbthefatboy.task.Task;
+import gbthefatboy.task.TaskFilter;
 
 /**
  * Manages a collection of tasks with operations for adding, retrieving, marking, and deleting tasks.
- * Provides functionality to search for tasks by date.
+ * Provides functionality to search for tasks by date, by keyword and by tag, backed by a {@link DateIndex},
+ * a {@link KeywordIndex} and a {@link TagIndex} that are kept up to date as tasks are added, deleted,
+ * renamed and tagged. Listing and finding can be narrowed by a {@link TaskFilter}, backed by a
+ * {@link FilterIndex} that is kept up to date as tasks are added, deleted, marked and unmarked.
+ * Tasks are held in {@link TaskSlots}, so looking up and deleting a task by its position are
+ * logarithmic rather than shifting every later task.
+ *
+ * <p>A task list can be filled incrementally by a background loader. While loading, tasks that
+ * are already loaded can be used immediately, new tasks are queued behind the ones still
+ * loading, and operations that need the whole list wait for the load to finish.
+ *
+ * <p>A task list can be used from several threads at once, e.g. by a front end running commands,
+ * the background loader and the snapshot writer. Changes are serialized by the write side of a
+ * {@link StampedLock}. Listing and finding share its read side, so they run alongside each other
+ * and only wait while a change is being made, and sizes are read optimistically without locking.
+ * Reads are not lock-free against an immutable snapshot: publishing one would copy the whole list on
+ * every change, and the indexes are too large to copy at all. {@link #snapshotTasks()} gives a
+ * consistent copy when one is needed, e.g. for saving.
+ *
+ * <p>Tasks are kept as objects by default. A list created with {@link TaskLayout#COLUMNS} keeps them as
+ * columns instead and returns a new copy of a task each time one is read, so tasks must be changed
+ * through the list, and a task read before a change does not show it.
+ *
+ * <p>Tasks loaded, added or renamed share equal descriptions through a {@link DescriptionPool}, unless
+ * they are kept as columns, where descriptions are copied into one arena anyway.
  */
 public class TaskList {
+    private static final int MAX_POOLED_DESCRIPTIONS = 1 << 16;
 
-    private ArrayList<Task> taskList = new ArrayList<>();
+    private final TaskLayout layout;
+    private final TaskSlots tasks;
+    private final ArrayList<Task> addedWhileLoading = new ArrayList<>();
+    private volatile CompletableFuture<Void> loading = CompletableFuture.completedFuture(null);
+    private volatile boolean isLoading = false;
+    private final KeywordIndex keywordIndex = new KeywordIndex();
+    private final DateIndex dateIndex = new DateIndex();
+    private final TagIndex tagIndex = new TagIndex();
+    private final FilterIndex filterIndex = new FilterIndex();
+    private final StampedLock lock = new StampedLock();
+    private final DescriptionPool descriptions = new DescriptionPool(MAX_POOLED_DESCRIPTIONS);
+    private volatile long version = 0;
 
     /**
      * Creates an empty TaskList.
      */
     public TaskList() {
-        this.taskList = new ArrayList<>();
+        this(TaskLayout.OBJECTS);
+    }
+
+    /**
+     * Creates an empty TaskList keeping its tasks in the given layout.
+     *
+     * @param layout The layout.
+     */
+    public TaskList(TaskLayout layout) {
+        this.layout = layout;
+        this.tasks = new TaskSlots(layout);
     }
 
     /**
@@ -29,7 +82,200 @@ public class TaskList {
      * @param tasks The initial list of tasks.
      */
     public TaskList(ArrayList<Task> tasks) {
-        this.taskList = tasks;
+        this(tasks, TaskLayout.OBJECTS);
+    }
+
+    /**
+     * Creates a TaskList with the provided list of tasks, keeping them in the given layout.
+     *
+     * @param tasks The initial list of tasks.
+     * @param layout The layout.
+     */
+    public TaskList(ArrayList<Task> tasks, TaskLayout layout) {
+        this(layout);
+        for (Task task : tasks) {
+            append(task);
+        }
+    }
+
+    /**
+     * Appends a task to the list and to every index.
+     */
+    private void append(Task task) {
+        if (layout == TaskLayout.OBJECTS) {
+            share(task);
+        }
+        index(tasks.append(task), task);
+        version++;
+    }
+
+    /**
+     * Replaces the description of a task with the pooled copy, if there is one.
+     */
+    private void share(Task task) {
+        String description = task.getDescription();
+        String pooled = descriptions.intern(description);
+        if (pooled != description) {
+            task.setDescription(pooled);
+        }
+    }
+
+    private void index(int id, Task task) {
+        keywordIndex.add(id, task.getDescription());
+        dateIndex.add(id, task);
+        tagIndex.add(id, task);
+        filterIndex.add(id, task);
+    }
+
+    /**
+     * Removes the task at the given 0-based position from the list and from every index.
+     */
+    private Task removeAt(int position) {
+        int id = tasks.slotAt(position);
+        Task removed = tasks.remove(id);
+        keywordIndex.remove(id, removed.getDescription());
+        dateIndex.remove(id, removed);
+        tagIndex.remove(id, removed);
+        filterIndex.remove(id, removed);
+        version++;
+        if (tasks.isSparse()) {
+            rebuildIndexes();
+        }
+        return removed;
+    }
+
+    /**
+     * Compacts the task slots, renumbering the ids, and rebuilds every index from the current list.
+     */
+    private void rebuildIndexes() {
+        tasks.compact();
+        keywordIndex.clear();
+        dateIndex.clear();
+        tagIndex.clear();
+        filterIndex.clear();
+        for (int id = 0; id < tasks.getCapacity(); id++) {
+            index(id, tasks.get(id));
+        }
+    }
+
+    /**
+     * Returns the slot of the task at the given 1-based index, checking the bounds up front
+     * rather than translating an IndexOutOfBoundsException.
+     */
+    private int slotOf(int index) throws GbException {
+        if (index < 1 || index > tasks.size()) {
+            throw new GbException(ErrorCode.INDEX_OUT_OF_BOUNDS, index - 1, tasks.size());
+        }
+        return tasks.slotAt(index - 1);
+    }
+
+    /**
+     * Returns a count read without taking the lock if no write is under way, or under the read lock otherwise.
+     */
+    private int readCount(IntSupplier count) {
+        long stamp = lock.tryOptimisticRead();
+        int value = count.getAsInt();
+        if (lock.validate(stamp)) {
+            return value;
+        }
+        stamp = lock.readLock();
+        try {
+            return count.getAsInt();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Marks the list as being filled by a background loader.
+     * Tasks added until {@link #finishLoading()} is called are kept after the loaded ones.
+     */
+    public void beginLoading() {
+        long stamp = lock.writeLock();
+        try {
+            loading = new CompletableFuture<>();
+            isLoading = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Appends a batch of tasks produced by the background loader.
+     *
+     * @param loadedTasks The loaded tasks, in file order.
+     */
+    public void appendLoaded(List<Task> loadedTasks) {
+        long stamp = lock.writeLock();
+        try {
+            for (Task task : loadedTasks) {
+                append(task);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Ends background loading, moving tasks added in the meantime behind the loaded ones
+     * and releasing every operation waiting for the full list.
+     */
+    public void finishLoading() {
+        long stamp = lock.writeLock();
+        try {
+            for (Task task : addedWhileLoading) {
+                append(task);
+            }
+            addedWhileLoading.clear();
+            isLoading = false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        loading.complete(null);
+    }
+
+    public boolean isLoading() {
+        return isLoading;
+    }
+
+    /**
+     * Returns a number that changes whenever a task is added, deleted, marked, unmarked or renamed,
+     * so callers can tell whether something they derived from the list is still current.
+     *
+     * @return The modification count of the list.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the pool that tasks added to the list share their descriptions through.
+     *
+     * @return The description pool.
+     */
+    public DescriptionPool getDescriptionPool() {
+        return descriptions;
+    }
+
+    /**
+     * Blocks until background loading has finished.
+     */
+    private void awaitLoaded() {
+        loading.join();
+    }
+
+    /**
+     * Blocks until the task at the given 1-based index is loaded, or loading has finished.
+     */
+    private void awaitLoaded(int index) {
+        if (!isLoading()) {
+            return;
+        }
+        int loadedSize = readCount(tasks::size);
+        if (index >= 1 && index <= loadedSize) {
+            return;
+        }
+        awaitLoaded();
     }
 
     /**
@@ -40,18 +286,105 @@ public class TaskList {
      */
     public void add(Task task) throws GbException {
         if (task.getDescription().isEmpty()) {
-            throw new GbException("Invalid description: task description cannot be "
-                    + "empty!");
+            throw new GbException(ErrorCode.EMPTY_DESCRIPTION);
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (isLoading()) {
+                addedWhileLoading.add(task);
+                version++;
+            } else {
+                append(task);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the full list of tasks without copying it, waiting for background loading to finish first.
+     * The list is a read-only view that follows later changes and is not guarded by the lock, so it
+     * is only safe to read from the thread that changes the task list; use {@link #snapshotTasks()}
+     * for a list to hand to another thread.
+     *
+     * @return The tasks in list order, in a read-only view.
+     */
+    public List<Task> getTasks() {
+        awaitLoaded();
+        return tasks.asList();
+    }
+
+    /**
+     * Returns a snapshot of the full list of tasks, waiting for background loading to finish first.
+     * The snapshot is copied once, at a single point between changes, and does not reflect later
+     * changes, so it can be handed to another thread, e.g. for saving.
+     *
+     * @return The tasks in list order, in a read-only list.
+     */
+    public List<Task> snapshotTasks() {
+        awaitLoaded();
+        long stamp = lock.readLock();
+        try {
+            return List.copyOf(tasks.asList());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns a page of the full list of tasks, waiting for background loading to finish first.
+     * Only the requested tasks are visited, however long the list is.
+     *
+     * @param offset The 0-based position of the first task.
+     * @param limit The maximum number of tasks to return.
+     * @return The tasks in list order.
+     */
+    public ArrayList<Task> getTasks(int offset, int limit) {
+        awaitLoaded();
+        return getLoadedTasks(offset, limit);
+    }
+
+    /**
+     * Returns a copy of the tasks loaded so far, without waiting for background loading.
+     *
+     * @return The loaded tasks in list order.
+     */
+    public ArrayList<Task> getLoadedTasks() {
+        long stamp = lock.readLock();
+        try {
+            return new ArrayList<>(tasks.asList());
+        } finally {
+            lock.unlockRead(stamp);
         }
-        this.taskList.add(task);
     }
 
-    public ArrayList<Task> getTasks() {
-        return this.taskList;
+    /**
+     * Returns a page of the tasks loaded so far, without waiting for background loading.
+     *
+     * @param offset The 0-based position of the first task.
+     * @param limit The maximum number of tasks to return.
+     * @return The loaded tasks in list order.
+     */
+    public ArrayList<Task> getLoadedTasks(int offset, int limit) {
+        long stamp = lock.readLock();
+        try {
+            return tasks.copyRange(offset, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of tasks loaded so far, not counting tasks added while loading.
+     *
+     * @return The number of loaded tasks.
+     */
+    public int getLoadedSize() {
+        return readCount(tasks::size);
     }
 
     public int getSize() {
-        return this.taskList.size();
+        return readCount(() -> tasks.size() + addedWhileLoading.size());
     }
 
     /**
@@ -62,21 +395,67 @@ public class TaskList {
      * @throws GbException If the index is out of bounds.
      */
     public Task getTask(int index) throws GbException {
+        awaitLoaded(index);
+        long stamp = lock.readLock();
         try {
-            return this.taskList.get(index - 1);
-        } catch (IndexOutOfBoundsException e) {
-            throw new GbException(e.getMessage());
+            return tasks.get(slotOf(index));
+        } finally {
+            lock.unlockRead(stamp);
         }
     }
 
+    /**
+     * Returns a page of the tasks passing a filter, waiting for background loading to finish first.
+     * Only the ids on the page are looked up, and each task comes with its index in the full list.
+     *
+     * @param filter The filter.
+     * @param offset The 0-based position of the first task among those passing the filter.
+     * @param limit The maximum number of tasks to return.
+     * @return The tasks on the page in list order, with their indexes and the number passing the filter.
+     */
+    public TaskPage getTasks(TaskFilter filter, int offset, int limit) {
+        awaitLoaded();
+        long stamp = lock.readLock();
+        try {
+            return pageOf(filterIndex.find(filter), offset, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns a page of the tasks with the given ids, with their indexes. Must be called under the lock.
+     */
+    private TaskPage pageOf(CompressedBitmap ids, int offset, int limit) {
+        int matchCount = ids.getCardinality();
+        int pageSize = Math.max(0, Math.min(limit, matchCount - offset));
+        ArrayList<Task> page = new ArrayList<>(pageSize);
+        int[] indexes = new int[pageSize];
+        ids.forEach(offset, pageSize, id -> {
+            indexes[page.size()] = tasks.positionOf(id) + 1;
+            page.add(tasks.get(id));
+        });
+        return new TaskPage(page, indexes, matchCount);
+    }
+
+    /**
+     * Returns the tasks with the given ids, in list order. Must be called under the lock.
+     */
+    private ArrayList<Task> tasksOf(CompressedBitmap ids) {
+        ArrayList<Task> found = new ArrayList<>(ids.getCardinality());
+        ids.forEach(id -> found.add(tasks.get(id)));
+        return found;
+    }
+
     /**
      * Marks a task as done at the specified index (1-based indexing).
+     * Tasks must be marked and unmarked through here rather than on the task so the filter index stays accurate.
      *
      * @param index The 1-based index of the task to mark.
      * @throws GbException If the index is out of bounds.
      */
     public void mark(int index) throws GbException {
-        getTask(index).mark();
+        setDone(index, true);
     }
 
     /**
@@ -86,7 +465,20 @@ public class TaskList {
      * @throws GbException If the index is out of bounds.
      */
     public void unmark(int index) throws GbException {
-        getTask(index).unmark();
+        setDone(index, false);
+    }
+
+    private void setDone(int index, boolean isDone) throws GbException {
+        awaitLoaded(index);
+        long stamp = lock.writeLock();
+        try {
+            int id = slotOf(index);
+            tasks.setDone(id, isDone);
+            filterIndex.setDone(id, isDone);
+            version++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -97,10 +489,124 @@ public class TaskList {
      * @throws GbException If the index is invalid or out of bounds.
      */
     public Task delete(int index) throws GbException {
-        if (index < 1 || index > this.taskList.size()) {
-            throw new GbException("Invalid task index");
+        awaitLoaded(index);
+        long stamp = lock.writeLock();
+        try {
+            if (index < 1 || index > tasks.size()) {
+                throw new GbException(ErrorCode.INVALID_TASK_INDEX);
+            }
+            return removeAt(index - 1);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Changes the description of the task at the specified index (1-based indexing).
+     * Descriptions must be changed through here rather than on the task so the keyword index stays accurate.
+     *
+     * @param index The 1-based index of the task.
+     * @param description The new description.
+     * @throws GbException If the index is out of bounds.
+     */
+    public void setDescription(int index, String description) throws GbException {
+        awaitLoaded(index);
+        long stamp = lock.writeLock();
+        try {
+            int id = slotOf(index);
+            keywordIndex.remove(id, tasks.getDescription(id));
+            tasks.setDescription(id, layout == TaskLayout.OBJECTS ? descriptions.intern(description) : description);
+            keywordIndex.add(id, description);
+            version++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Adds tags to the task at the specified index (1-based indexing).
+     * Tags must be added through here rather than on the task so the tag index stays accurate.
+     *
+     * @param index The 1-based index of the task.
+     * @param names The tags to add, without their leading {@code #}.
+     * @return The tagged task.
+     * @throws GbException If the index is out of bounds.
+     */
+    public Task addTags(int index, Collection<String> names) throws GbException {
+        awaitLoaded(index);
+        long stamp = lock.writeLock();
+        try {
+            int id = slotOf(index);
+            if (tasks.addTags(id, names)) {
+                tagIndex.add(id, names);
+                version++;
+            }
+            return tasks.get(id);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Finds and returns all tasks that carry every one of the given tags, in list order.
+     *
+     * @param names The tags, without their leading {@code #}; at least one.
+     * @return A list of the tasks carrying all the tags.
+     */
+    public ArrayList<Task> findTasksByTags(Collection<String> names) {
+        return findTasksByTags(names, TaskFilter.ALL);
+    }
+
+    /**
+     * Finds and returns all tasks that carry every one of the given tags and pass a filter, in list order.
+     *
+     * @param names The tags, without their leading {@code #}; at least one.
+     * @param filter The filter.
+     * @return A list of the tasks carrying all the tags.
+     */
+    public ArrayList<Task> findTasksByTags(Collection<String> names, TaskFilter filter) {
+        awaitLoaded();
+        long stamp = lock.readLock();
+        try {
+            CompressedBitmap ids = tagIndex.find(names);
+            return tasksOf(filter.isAll() ? ids : CompressedBitmap.and(ids, filterIndex.find(filter)));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds all tasks that carry every one of the given tags and pass a filter, with their indexes.
+     *
+     * @param names The tags, without their leading {@code #}; at least one.
+     * @param filter The filter.
+     * @return The tasks carrying all the tags in list order, each with its index in the full list.
+     */
+    public TaskPage findTaskPageByTags(Collection<String> names, TaskFilter filter) {
+        awaitLoaded();
+        long stamp = lock.readLock();
+        try {
+            CompressedBitmap ids = tagIndex.find(names);
+            return pageOf(filter.isAll() ? ids : CompressedBitmap.and(ids, filterIndex.find(filter)),
+                    0, Integer.MAX_VALUE);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns every tag in use with the number of tasks carrying it.
+     *
+     * @return The tags in alphabetical order, mapped to their task counts.
+     */
+    public SortedMap<String, Integer> getTagCounts() {
+        awaitLoaded();
+        long stamp = lock.readLock();
+        try {
+            return tagIndex.counts();
+        } finally {
+            lock.unlockRead(stamp);
         }
-        return this.taskList.remove(index - 1);
     }
 
     /**
@@ -112,25 +618,32 @@ public class TaskList {
      * @return A list of tasks that occur on the specified date.
      */
     public ArrayList<Task> findTasksByDate(LocalDate targetDate) {
+        return findTasksByDateRange(targetDate, targetDate);
+    }
+
+    /**
+     * Finds and returns all tasks that occur on any day between the two dates, inclusive, in list order.
+     * Deadlines match if they are due within the range, and events match if they overlap it.
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range.
+     * @return A list of tasks that occur within the range.
+     */
+    public ArrayList<Task> findTasksByDateRange(LocalDate from, LocalDate to) {
+        awaitLoaded();
         ArrayList<Task> tasksOnDate = new ArrayList<>();
 
-        for (Task task : taskList) {
-            if (task instanceof Deadline) {
-                Deadline deadline = (Deadline) task;
-                if (deadline.getDeadline().toLocalDate().equals(targetDate)) {
-                    tasksOnDate.add(deadline);
-                }
-            } else if (task instanceof Event) {
-                Event event = (Event) task;
-                LocalDate eventStartDate = event.getStartDateTime().toLocalDate();
-                LocalDate eventEndDate = event.getEndDateTime().toLocalDate();
-
-                if (targetDate.equals(eventStartDate)
-                        || targetDate.equals(eventEndDate)
-                        || targetDate.isAfter(eventStartDate) && targetDate.isBefore(eventEndDate)) {
-                    tasksOnDate.add(event);
+        long stamp = lock.readLock();
+        try {
+            IntList matches = dateIndex.find(from, to);
+            for (int i = 0; i < matches.size(); i++) {
+                Task task = tasks.get(matches.get(i));
+                if (task != null) {
+                    tasksOnDate.add(task);
                 }
             }
+        } finally {
+            lock.unlockRead(stamp);
         }
 
         if (tasksOnDate.isEmpty()) {
@@ -143,18 +656,35 @@ public class TaskList {
     }
 
     /**
-     * Finds and returns all tasks that contain the specific key word
+     * Finds and returns all tasks that contain the specific key word.
+     * Keywords of three or more characters are looked up in the keyword index; shorter ones
+     * fall back to scanning every description.
      *
      * @param keyword The key to search for in tasks.
      * @return A list of tasks that contain the specific keyword.
      */
     public ArrayList<Task> findTasksByKeyword(String keyword) {
+        return findTasksByKeyword(keyword, TaskFilter.ALL);
+    }
+
+    /**
+     * Finds and returns all tasks that contain the specific key word and pass a filter.
+     * Selective keywords are looked up in the trigram index; short keywords, and keywords common
+     * enough that the index would not pay off, scan the descriptions of the tasks passing the filter.
+     *
+     * @param keyword The key to search for in tasks.
+     * @param filter The filter.
+     * @return A list of tasks that contain the specific keyword.
+     */
+    public ArrayList<Task> findTasksByKeyword(String keyword, TaskFilter filter) {
+        awaitLoaded();
         ArrayList<Task> tasksWithKey = new ArrayList<>();
 
-        for (Task task : taskList) {
-            if (task.getDescription().contains(keyword)) {
-                tasksWithKey.add(task);
-            }
+        long stamp = lock.readLock();
+        try {
+            collectKeywordMatches(keyword, filter, tasksWithKey, null);
+        } finally {
+            lock.unlockRead(stamp);
         }
 
         if (tasksWithKey.isEmpty()) {
@@ -166,4 +696,76 @@ public class TaskList {
 
     }
 
+    /**
+     * Finds all tasks that contain the specific key word and pass a filter, with their indexes.
+     *
+     * @param keyword The key to search for in tasks.
+     * @param filter The filter.
+     * @return The tasks containing the keyword in list order, each with its index in the full list.
+     */
+    public TaskPage findTaskPageByKeyword(String keyword, TaskFilter filter) {
+        awaitLoaded();
+        ArrayList<Task> tasksWithKey = new ArrayList<>();
+        IntList indexes = new IntList();
+
+        long stamp = lock.readLock();
+        try {
+            collectKeywordMatches(keyword, filter, tasksWithKey, indexes);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        int[] indexArray = new int[indexes.size()];
+        for (int i = 0; i < indexArray.length; i++) {
+            indexArray[i] = indexes.get(i);
+        }
+        return new TaskPage(tasksWithKey, indexArray, indexArray.length);
+    }
+
+    /**
+     * Adds the tasks containing the keyword and passing the filter to {@code found}, in list order,
+     * and their 1-based indexes to {@code indexes} unless it is null. Must be called under the lock.
+     */
+    private void collectKeywordMatches(String keyword, TaskFilter filter, List<Task> found, IntList indexes) {
+        CompressedBitmap passing = filter.isAll() ? null : filterIndex.find(filter);
+        IntList candidates = keyword.length() < KeywordIndex.GRAM_LENGTH
+                ? null
+                : keywordIndex.candidates(keyword, tasks.size());
+        if (candidates == null && passing != null) {
+            passing.forEach(id -> {
+                if (tasks.getDescription(id).contains(keyword)) {
+                    found.add(tasks.get(id));
+                    if (indexes != null) {
+                        indexes.add(tasks.positionOf(id) + 1);
+                    }
+                }
+            });
+        } else if (candidates == null) {
+            int index = 0;
+            for (int id = 0; id < tasks.getCapacity(); id++) {
+                if (!tasks.isOccupied(id)) {
+                    continue;
+                }
+                index++;
+                if (tasks.getDescription(id).contains(keyword)) {
+                    found.add(tasks.get(id));
+                    if (indexes != null) {
+                        indexes.add(index);
+                    }
+                }
+            }
+        } else {
+            for (int i = 0; i < candidates.size(); i++) {
+                int id = candidates.get(i);
+                if (tasks.isOccupied(id) && (passing == null || passing.contains(id))
+                        && tasks.getDescription(id).contains(keyword)) {
+                    found.add(tasks.get(id));
+                    if (indexes != null) {
+                        indexes.add(tasks.positionOf(id) + 1);
+                    }
+                }
+            }
+        }
+    }
+
 }
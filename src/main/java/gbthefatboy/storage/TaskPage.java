@@ -0,0 +1,39 @@
+package gbthefatboy.storage;
+
+import java.util.List;
+
+import gbthefatboy.task.Task;
+
+/**
+ * One page of the tasks passing a filter, each with the 1-based index it has in the full list,
+ * together with the number of tasks passing the filter in all.
+ */
+public class TaskPage {
+    private final List<Task> tasks;
+    private final int[] indexes;
+    private final int matchCount;
+
+    TaskPage(List<Task> tasks, int[] indexes, int matchCount) {
+        this.tasks = tasks;
+        this.indexes = indexes;
+        this.matchCount = matchCount;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the index in the full list of a task on the page.
+     *
+     * @param position The 0-based position of the task on the page.
+     * @return The 1-based index of the task in the full list.
+     */
+    public int getIndex(int position) {
+        return indexes[position];
+    }
+
+    public int getMatchCount() {
+        return matchCount;
+    }
+}
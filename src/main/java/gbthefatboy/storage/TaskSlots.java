@@ -0,0 +1,297 @@
+package gbthefatboy.storage;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import gbthefatboy.task.Task;
+
+/**
+ * Order-preserving storage for the tasks of a {@link TaskList}.
+ * Tasks are appended to an array of slots and deleting a task only clears its slot, so slot numbers
+ * serve as stable ids for the list's indexes and ascending ids follow list order. A Fenwick tree over
+ * the occupied slots maps the 1-based positions shown to the user onto slots, giving logarithmic
+ * positional lookup, append and delete without shifting the tasks that follow.
+ *
+ * <p>The tasks themselves are kept by a {@link TaskStore} chosen by the {@link TaskLayout}. Tasks must be
+ * changed through the slots rather than on the tasks returned, since a columnar store returns copies.
+ */
+class TaskSlots {
+    private final TaskStore store;
+    private int[] tree = new int[17];
+    private int slotCount = 0;
+    private int size = 0;
+    private final List<Task> view = new View();
+
+    /**
+     * Creates empty slots keeping their tasks in the given layout.
+     *
+     * @param layout The layout.
+     */
+    TaskSlots(TaskLayout layout) {
+        this.store = layout == TaskLayout.COLUMNS ? new ColumnarTaskStore() : new ObjectTaskStore();
+    }
+
+    /**
+     * Appends a task after every task in the list.
+     *
+     * @param task The task to append.
+     * @return The slot, and thereby the id, given to the task.
+     */
+    int append(Task task) {
+        if (slotCount + 1 == tree.length) {
+            tree = Arrays.copyOf(tree, slotCount * 2 + 1);
+        }
+        store.ensureCapacity(slotCount + 1);
+        int slot = slotCount++;
+        store.put(slot, task);
+        int node = slot + 1;
+        tree[node] = 1 + prefixCount(node - 1) - prefixCount(node - Integer.lowestOneBit(node));
+        size++;
+        return slot;
+    }
+
+    /**
+     * Returns the slot holding the task at the given position.
+     *
+     * @param position The 0-based position among the tasks in the list.
+     * @return The slot of that task.
+     * @throws IndexOutOfBoundsException If the position is outside the list.
+     */
+    int slotAt(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Index " + position + " out of bounds for length " + size);
+        }
+        int node = 0;
+        int remaining = position + 1;
+        for (int step = Integer.highestOneBit(slotCount); step > 0; step >>= 1) {
+            int next = node + step;
+            if (next <= slotCount && tree[next] < remaining) {
+                node = next;
+                remaining -= tree[next];
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Returns the position of the task in the given slot, the inverse of {@link #slotAt(int)}.
+     *
+     * @param slot A slot holding a task.
+     * @return The 0-based position of that task among the tasks in the list.
+     */
+    int positionOf(int slot) {
+        return prefixCount(slot);
+    }
+
+    /**
+     * Returns the task in the given slot.
+     *
+     * @param slot The slot, as returned by {@link #append(Task)}.
+     * @return The task, or null if it was removed.
+     */
+    Task get(int slot) {
+        return store.get(slot);
+    }
+
+    /**
+     * Checks whether the given slot holds a task, without building the task.
+     *
+     * @param slot A slot below {@link #getCapacity()}.
+     * @return True if the slot holds a task.
+     */
+    boolean isOccupied(int slot) {
+        return store.isOccupied(slot);
+    }
+
+    /**
+     * Returns the description of the task in the given slot, without building the task.
+     *
+     * @param slot A slot holding a task.
+     * @return The description.
+     */
+    String getDescription(int slot) {
+        return store.getDescription(slot);
+    }
+
+    /**
+     * Marks or unmarks the task in the given slot.
+     *
+     * @param slot A slot holding a task.
+     * @param isDone Whether the task is done.
+     */
+    void setDone(int slot, boolean isDone) {
+        store.setDone(slot, isDone);
+    }
+
+    /**
+     * Changes the description of the task in the given slot.
+     *
+     * @param slot A slot holding a task.
+     * @param description The new description.
+     */
+    void setDescription(int slot, String description) {
+        store.setDescription(slot, description);
+    }
+
+    /**
+     * Adds tags to the task in the given slot, ignoring ones it already has.
+     *
+     * @param slot A slot holding a task.
+     * @param names The tags, without their leading {@code #}.
+     * @return True if any tag was added.
+     */
+    boolean addTags(int slot, Collection<String> names) {
+        return store.addTags(slot, names);
+    }
+
+    /**
+     * Removes the task in the given slot, leaving the slot empty.
+     *
+     * @param slot The slot of the task to remove.
+     * @return The removed task.
+     */
+    Task remove(int slot) {
+        Task removed = store.get(slot);
+        store.remove(slot);
+        for (int node = slot + 1; node <= slotCount; node += Integer.lowestOneBit(node)) {
+            tree[node]--;
+        }
+        size--;
+        return removed;
+    }
+
+    /**
+     * Returns the tasks at consecutive positions, locating the first in logarithmic time and
+     * walking the slots from there.
+     *
+     * @param position The 0-based position of the first task.
+     * @param count The maximum number of tasks to return.
+     * @return The tasks in list order; fewer than count if the list ends first.
+     */
+    ArrayList<Task> copyRange(int position, int count) {
+        ArrayList<Task> range = new ArrayList<>(Math.max(0, Math.min(count, size - position)));
+        if (position < 0 || position >= size) {
+            return range;
+        }
+        for (int slot = slotAt(position); slot < slotCount && range.size() < count; slot++) {
+            Task task = store.get(slot);
+            if (task != null) {
+                range.add(task);
+            }
+        }
+        return range;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getCapacity() {
+        return slotCount;
+    }
+
+    /**
+     * Checks whether enough slots are empty that compacting would pay off.
+     *
+     * @return True if most slots are empty.
+     */
+    boolean isSparse() {
+        int removed = slotCount - size;
+        return removed > 1024 && removed > size;
+    }
+
+    /**
+     * Moves every task to the front, renumbering the slots in list order.
+     * Slots handed out before compacting no longer identify the same tasks.
+     */
+    void compact() {
+        int next = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (store.isOccupied(slot)) {
+                if (slot != next) {
+                    store.move(slot, next);
+                }
+                next++;
+            }
+        }
+        slotCount = size;
+        Arrays.fill(tree, 0);
+        for (int node = 1; node <= slotCount; node++) {
+            tree[node] = Integer.lowestOneBit(node);
+        }
+    }
+
+    void clear() {
+        store.clear();
+        Arrays.fill(tree, 0);
+        slotCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns a read-only view of the tasks in list order that reflects later changes.
+     *
+     * @return The view.
+     */
+    List<Task> asList() {
+        return view;
+    }
+
+    private int prefixCount(int node) {
+        int count = 0;
+        for (; node > 0; node -= Integer.lowestOneBit(node)) {
+            count += tree[node];
+        }
+        return count;
+    }
+
+    /**
+     * Unmodifiable list over the occupied slots.
+     */
+    private class View extends AbstractList<Task> {
+        @Override
+        public Task get(int index) {
+            return store.get(slotAt(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new Iterator<>() {
+                private int slot = nextOccupied(0);
+
+                @Override
+                public boolean hasNext() {
+                    return slot < slotCount;
+                }
+
+                @Override
+                public Task next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Task task = store.get(slot);
+                    slot = nextOccupied(slot + 1);
+                    return task;
+                }
+            };
+        }
+
+        private int nextOccupied(int from) {
+            int slot = from;
+            while (slot < slotCount && !store.isOccupied(slot)) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+}
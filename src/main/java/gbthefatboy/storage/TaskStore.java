@@ -0,0 +1,96 @@
+package gbthefatboy.storage;
+
+import java.util.Collection;
+
+import gbthefatboy.task.Task;
+
+/**
+ * Holds the state of the tasks in the slots of a {@link TaskSlots}, either as task objects or as columns.
+ * Slots are numbered from 0 and may be empty. Tasks are changed through the store rather than on
+ * the tasks it returns, since a store may hand out copies.
+ */
+interface TaskStore {
+    /**
+     * Makes room for at least the given number of slots.
+     *
+     * @param capacity The number of slots needed.
+     */
+    void ensureCapacity(int capacity);
+
+    /**
+     * Puts a task in an empty slot.
+     *
+     * @param slot The slot.
+     * @param task The task.
+     */
+    void put(int slot, Task task);
+
+    /**
+     * Returns the task in a slot.
+     *
+     * @param slot The slot.
+     * @return The task, or null if the slot is empty.
+     */
+    Task get(int slot);
+
+    /**
+     * Checks whether a slot holds a task, without building the task.
+     *
+     * @param slot The slot.
+     * @return True if the slot holds a task.
+     */
+    boolean isOccupied(int slot);
+
+    /**
+     * Returns the description of the task in a slot, without building the task.
+     *
+     * @param slot A slot holding a task.
+     * @return The description.
+     */
+    String getDescription(int slot);
+
+    /**
+     * Empties a slot.
+     *
+     * @param slot A slot holding a task.
+     */
+    void remove(int slot);
+
+    /**
+     * Moves the task in one slot to an empty slot before it.
+     *
+     * @param from A slot holding a task.
+     * @param to An empty slot before it.
+     */
+    void move(int from, int to);
+
+    /**
+     * Empties every slot.
+     */
+    void clear();
+
+    /**
+     * Marks or unmarks the task in a slot.
+     *
+     * @param slot A slot holding a task.
+     * @param isDone Whether the task is done.
+     */
+    void setDone(int slot, boolean isDone);
+
+    /**
+     * Changes the description of the task in a slot.
+     *
+     * @param slot A slot holding a task.
+     * @param description The new description.
+     */
+    void setDescription(int slot, String description);
+
+    /**
+     * Adds tags to the task in a slot, ignoring ones it already has.
+     *
+     * @param slot A slot holding a task.
+     * @param names The tags, without their leading {@code #}.
+     * @return True if any tag was added.
+     */
+    boolean addTags(int slot, Collection<String> names);
+}
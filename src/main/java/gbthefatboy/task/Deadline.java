@@ -6,12 +6,14 @@ import java.time.format.DateTimeFormatter;
 /**
  * Represents a task with a deadline.
  * Extends Task to include deadline date and time functionality.
+ * The deadline is kept as epoch seconds, so comparing deadlines and finding their day is arithmetic
+ * rather than going through date objects.
  */
 public class Deadline extends Task {
 
     private static final DateTimeFormatter OUTPUT_FORMAT = DateTimeFormatter.ofPattern(
             "MMM dd yyyy, h:mma");
-    private final LocalDateTime deadline;
+    private final long deadlineEpochSecond;
 
 
     /**
@@ -22,7 +24,7 @@ public class Deadline extends Task {
      */
     public Deadline(String description, LocalDateTime deadline) {
         super(description);
-        this.deadline = deadline;
+        this.deadlineEpochSecond = EpochTime.toEpochSecond(deadline);
     }
 
     /**
@@ -33,24 +35,43 @@ public class Deadline extends Task {
      * @param deadline The deadline date and time.
      */
     public Deadline(String desc, boolean isDone, LocalDateTime deadline) {
+        this(desc, isDone, EpochTime.toEpochSecond(deadline));
+    }
+
+    /**
+     * Creates a new Deadline task with description, completion status, and deadline in epoch seconds.
+     *
+     * @param desc The task description.
+     * @param isDone The completion status of the task.
+     * @param deadlineEpochSecond The deadline, as returned by {@link #getDeadlineEpochSecond()}.
+     */
+    public Deadline(String desc, boolean isDone, long deadlineEpochSecond) {
         super(desc, isDone);
-        this.deadline = deadline;
+        this.deadlineEpochSecond = deadlineEpochSecond;
     }
 
     public LocalDateTime getDeadline() {
-        return this.deadline;
+        return EpochTime.toDateTime(this.deadlineEpochSecond);
+    }
+
+    public long getDeadlineEpochSecond() {
+        return this.deadlineEpochSecond;
+    }
+
+    public long getDeadlineEpochDay() {
+        return EpochTime.toEpochDay(this.deadlineEpochSecond);
     }
 
     public String getDeadlineString() {
-        return this.deadline.format(OUTPUT_FORMAT);
+        return getDeadline().format(OUTPUT_FORMAT);
     }
 
     public String getDeadlineForStorage() {
-        return this.deadline.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        return getDeadline().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
     }
 
     @Override
-    public String toString() {
-        return String.format("[D]%s (by: %s)", super.toString(), getDeadlineString());
+    protected String render() {
+        return "[D]" + super.render() + " (by: " + getDeadlineString() + ")";
     }
 }
@@ -0,0 +1,79 @@
+package gbthefatboy.task;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pool of task descriptions, so tasks with the same description share one string.
+ * Task lists tend to repeat descriptions, such as recurring meetings and chores, and every task
+ * loaded or added would otherwise keep its own copy. The pool holds at most a fixed number of
+ * distinct descriptions, dropping the least recently used, so unique descriptions cannot make it
+ * grow without bound; dropping one only means later copies of it are no longer shared.
+ *
+ * <p>The pool is not thread-safe; its owner serializes calls to {@link #intern(String)}.
+ * Its counts may be read from any thread.
+ */
+public final class DescriptionPool {
+    // Estimated size of a String and its byte array apart from the characters, on a 64-bit JVM
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final Map<String, String> descriptions;
+    private volatile long lookupCount = 0;
+    private volatile long sharedCount = 0;
+    private volatile long savedBytes = 0;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param maxSize The maximum number of distinct descriptions kept.
+     */
+    public DescriptionPool(int maxSize) {
+        this.descriptions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the pooled description equal to the given one, adding it if there is none.
+     *
+     * @param description The description.
+     * @return The shared instance of the description.
+     */
+    public String intern(String description) {
+        lookupCount++;
+        String pooled = descriptions.putIfAbsent(description, description);
+        if (pooled == null) {
+            return description;
+        }
+        if (pooled != description) {
+            sharedCount++;
+            savedBytes += STRING_OVERHEAD_BYTES + description.length();
+        }
+        return pooled;
+    }
+
+    public long getLookupCount() {
+        return lookupCount;
+    }
+
+    public long getSharedCount() {
+        return sharedCount;
+    }
+
+    /**
+     * Returns an estimate of the heap saved by sharing descriptions, counting each copy that was
+     * replaced by a pooled one as a string of one byte per character.
+     *
+     * @return The estimated bytes saved.
+     */
+    public long getSavedBytes() {
+        return savedBytes;
+    }
+
+    public int getSize() {
+        return descriptions.size();
+    }
+}
@@ -0,0 +1,34 @@
+package gbthefatboy.task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Conversions between date-times and the epoch seconds that tasks keep them as.
+ * Date-times carry no time zone, so they are counted as if in UTC; times are kept to the second,
+ * which is as precise as any supported date format.
+ */
+public final class EpochTime {
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private EpochTime() {
+    }
+
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the day a time falls on, as counted by {@link java.time.LocalDate#toEpochDay()}.
+     *
+     * @param epochSecond The time in epoch seconds.
+     * @return The epoch day.
+     */
+    public static long toEpochDay(long epochSecond) {
+        return Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    }
+}
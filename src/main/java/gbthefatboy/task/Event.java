@@ -6,13 +6,15 @@ import java.time.format.DateTimeFormatter;
 /**
  * Represents a task that occurs over a specific time period.
  * Extends Task to include start and end date/time functionality.
+ * The start and end are kept as epoch seconds, so checking which days an event covers is arithmetic
+ * rather than going through date objects.
  */
 public class Event extends Task {
 
     private static final DateTimeFormatter OUTPUT_FORMAT = DateTimeFormatter.ofPattern(
             "MMM dd yyyy, h:mma");
-    private final LocalDateTime startDateTime;
-    private final LocalDateTime endDateTime;
+    private final long startEpochSecond;
+    private final long endEpochSecond;
 
 
     /**
@@ -25,8 +27,8 @@ public class Event extends Task {
     public Event(String description, LocalDateTime startDate,
                  LocalDateTime endDate) {
         super(description);
-        this.startDateTime = startDate;
-        this.endDateTime = endDate;
+        this.startEpochSecond = EpochTime.toEpochSecond(startDate);
+        this.endEpochSecond = EpochTime.toEpochSecond(endDate);
     }
 
     /**
@@ -39,39 +41,66 @@ public class Event extends Task {
      */
     public Event(String desc, boolean isDone, LocalDateTime startDate,
                  LocalDateTime endDate) {
+        this(desc, isDone, EpochTime.toEpochSecond(startDate), EpochTime.toEpochSecond(endDate));
+    }
+
+    /**
+     * Creates a new Event task with description, completion status, and date/time range in epoch seconds.
+     *
+     * @param desc The event description.
+     * @param isDone The completion status of the event.
+     * @param startEpochSecond The start, as returned by {@link #getStartEpochSecond()}.
+     * @param endEpochSecond The end, as returned by {@link #getEndEpochSecond()}.
+     */
+    public Event(String desc, boolean isDone, long startEpochSecond, long endEpochSecond) {
         super(desc, isDone);
-        this.startDateTime = startDate;
-        this.endDateTime = endDate;
+        this.startEpochSecond = startEpochSecond;
+        this.endEpochSecond = endEpochSecond;
     }
 
     public LocalDateTime getStartDateTime() {
-        return this.startDateTime;
+        return EpochTime.toDateTime(this.startEpochSecond);
+    }
+
+    public long getStartEpochSecond() {
+        return this.startEpochSecond;
+    }
+
+    public long getStartEpochDay() {
+        return EpochTime.toEpochDay(this.startEpochSecond);
     }
 
     public String getStartDateTimeString() {
-        return this.startDateTime.format(OUTPUT_FORMAT);
+        return getStartDateTime().format(OUTPUT_FORMAT);
     }
 
     public LocalDateTime getEndDateTime() {
-        return this.endDateTime;
+        return EpochTime.toDateTime(this.endEpochSecond);
+    }
+
+    public long getEndEpochSecond() {
+        return this.endEpochSecond;
+    }
+
+    public long getEndEpochDay() {
+        return EpochTime.toEpochDay(this.endEpochSecond);
     }
 
     public String getEndDateTimeString() {
-        return this.endDateTime.format(OUTPUT_FORMAT);
+        return getEndDateTime().format(OUTPUT_FORMAT);
     }
 
     public String getStartDateTimeForStorage() {
-        return this.startDateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        return getStartDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
     }
 
     public String getEndDateTimeForStorage() {
-        return this.endDateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        return getEndDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
     }
 
     @Override
-    public String toString() {
-        return String.format("[E]%s (from: %s to: %s)", super.toString(),
-                getStartDateTimeString(), getEndDateTimeString());
+    protected String render() {
+        return "[E]" + super.render() + " (from: " + getStartDateTimeString() + " to: " + getEndDateTimeString() + ")";
     }
 
 }
@@ -1,13 +1,28 @@
 package gbthefatboy.task;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 /**
  * Represents a basic task with a description and completion status.
  * Serves as the base class for specific task types.
+ *
+ * <p>The text shown for a task is rendered once and kept until the task changes, so listing
+ * the same tasks again does not format their dates every time. Subclasses describe themselves
+ * by overriding {@link #render()}.
+ *
+ * <p>Tasks are read from more than one thread, e.g. by the background snapshot writer while commands
+ * run, so their state is volatile and changing it is synchronized with rendering, which keeps a
+ * cached line from outliving the change it predates.
  */
 public class Task {
 
-    private String description;
-    private boolean isDone = false;
+    private volatile String description;
+    private volatile boolean isDone = false;
+    private volatile Set<String> tags = Set.of();
+    private String rendered;
 
     /**
      * Creates a new Task with the specified description.
@@ -37,28 +52,71 @@ public class Task {
     /**
      * Marks the task as completed.
      */
-    public void mark() {
+    public synchronized void mark() {
         this.isDone = true;
+        this.rendered = null;
     }
 
     /**
      * Unmarks the task (sets as not completed).
      */
-    public void unmark() {
+    public synchronized void unmark() {
         this.isDone = false;
+        this.rendered = null;
     }
 
     public String getDescription() {
         return this.description;
     }
 
-    public void setDescription(String newDesc) {
+    public synchronized void setDescription(String newDesc) {
         this.description = newDesc;
+        this.rendered = null;
+    }
+
+    /**
+     * Returns the tags of the task, in the order they were added, without their leading {@code #}.
+     *
+     * @return A read-only set of tags.
+     */
+    public Set<String> getTags() {
+        return this.tags;
+    }
+
+    /**
+     * Adds tags to the task, ignoring ones it already has.
+     * The set of tags is replaced rather than changed, so sets returned by {@link #getTags()} never change.
+     *
+     * @param newTags The tags to add, without their leading {@code #}.
+     * @return True if any tag was added.
+     */
+    public synchronized boolean addTags(Collection<String> newTags) {
+        LinkedHashSet<String> updated = new LinkedHashSet<>(this.tags);
+        if (!updated.addAll(newTags)) {
+            return false;
+        }
+        this.tags = Collections.unmodifiableSet(updated);
+        this.rendered = null;
+        return true;
+    }
+
+    /**
+     * Builds the text shown for the task.
+     *
+     * @return The completion status followed by the description and tags.
+     */
+    protected String render() {
+        String text = (isDone ? "[X] " : "[ ] ") + this.description;
+        return this.tags.isEmpty() ? text : text + " #" + String.join(" #", this.tags);
     }
 
     @Override
-    public String toString() {
-        String check = isDone ? "X" : " ";
-        return String.format("[%s] %s", check, this.description);
+    public final synchronized String toString() {
+        String text = this.rendered;
+        if (text == null) {
+            text = render();
+            this.rendered = text;
+        }
+        return text;
     }
 }
@@ -0,0 +1,159 @@
+package gbthefatboy.task;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The done state and types of the tasks a list or find command is restricted to.
+ * Filters are immutable; each option given on the command line returns a narrower copy.
+ */
+public class TaskFilter {
+    public static final TaskFilter ALL = new TaskFilter(false, false, EnumSet.noneOf(Type.class));
+
+    private final boolean isPendingWanted;
+    private final boolean isDoneWanted;
+    private final EnumSet<Type> types;
+
+    /**
+     * The kinds of task, with the letter they are shown and stored with.
+     */
+    public enum Type {
+        TODO("T"),
+        DEADLINE("D"),
+        EVENT("E");
+
+        private final String code;
+
+        Type(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return this.code;
+        }
+
+        /**
+         * Returns the type whose letter matches, ignoring case.
+         *
+         * @param code The letter of the type.
+         * @return The type, or null if no type has the letter.
+         */
+        public static Type fromCode(String code) {
+            for (Type type : values()) {
+                if (type.code.equalsIgnoreCase(code)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the type of a task.
+         *
+         * @param task The task.
+         * @return The type.
+         */
+        public static Type of(Task task) {
+            if (task instanceof Deadline) {
+                return DEADLINE;
+            } else if (task instanceof Event) {
+                return EVENT;
+            }
+            return TODO;
+        }
+    }
+
+    private TaskFilter(boolean isPendingWanted, boolean isDoneWanted, EnumSet<Type> types) {
+        this.isPendingWanted = isPendingWanted;
+        this.isDoneWanted = isDoneWanted;
+        this.types = types;
+    }
+
+    /**
+     * Returns a copy of this filter that also keeps tasks that are not done.
+     * Unless done tasks are asked for as well, they are left out.
+     *
+     * @return The filter.
+     */
+    public TaskFilter withPending() {
+        return new TaskFilter(true, isDoneWanted, types);
+    }
+
+    /**
+     * Returns a copy of this filter that also keeps tasks that are done.
+     * Unless pending tasks are asked for as well, they are left out.
+     *
+     * @return The filter.
+     */
+    public TaskFilter withDone() {
+        return new TaskFilter(isPendingWanted, true, types);
+    }
+
+    /**
+     * Returns a copy of this filter that also keeps tasks of the given type.
+     * Once any type is asked for, tasks of the other types are left out.
+     *
+     * @param type The type.
+     * @return The filter.
+     */
+    public TaskFilter withType(Type type) {
+        EnumSet<Type> widened = EnumSet.copyOf(types);
+        widened.add(type);
+        return new TaskFilter(isPendingWanted, isDoneWanted, widened);
+    }
+
+    public boolean isAll() {
+        return showsPending() && showsDone() && types.isEmpty();
+    }
+
+    public boolean showsPending() {
+        return isPendingWanted || !isDoneWanted;
+    }
+
+    public boolean showsDone() {
+        return isDoneWanted || !isPendingWanted;
+    }
+
+    /**
+     * Returns the types of task the filter keeps.
+     *
+     * @return The types, every type if none was asked for.
+     */
+    public Set<Type> getTypes() {
+        return Collections.unmodifiableSet(types.isEmpty() ? EnumSet.allOf(Type.class) : types);
+    }
+
+    /**
+     * Returns the command line options that give this filter, e.g. {@code --pending --type D}.
+     *
+     * @return The options, or an empty string for the filter keeping every task.
+     */
+    public String toOptions() {
+        StringBuilder options = new StringBuilder();
+        if (showsPending() && !showsDone()) {
+            options.append(" --pending");
+        } else if (showsDone() && !showsPending()) {
+            options.append(" --done");
+        }
+        for (Type type : types) {
+            options.append(" --type ").append(type.code);
+        }
+        return options.toString().trim();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof TaskFilter)) {
+            return false;
+        }
+        TaskFilter filter = (TaskFilter) other;
+        return showsPending() == filter.showsPending() && showsDone() == filter.showsDone()
+                && types.equals(filter.types);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Boolean.hashCode(showsPending()) + Boolean.hashCode(showsDone())) + types.hashCode();
+    }
+}
@@ -26,7 +26,7 @@ public class Todo extends Task {
     }
 
     @Override
-    public String toString() {
-        return String.format("[T]%s", super.toString());
+    protected String render() {
+        return "[T]" + super.render();
     }
 }
@@ -1,11 +1,8 @@
 package gbthefatboy.ui;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.Scanner;
 
-import gbthefatboy.task.Task;
+import gbthefatboy.handler.CommandResult;
 
 /**
  * Handles all user interface interactions including input/output operations.
@@ -46,15 +43,6 @@ public class Ui {
         System.out.println();
     }
 
-    /**
-     * Displays the goodbye message when the application exits.
-     */
-    public void showGoodbye() {
-        System.out.println(LINE);
-        System.out.println("Bye. Hope to see you again soon!");
-        System.out.println(LINE);
-    }
-
     /**
      * Displays a separator line for formatting output.
      */
@@ -70,231 +58,52 @@ public class Ui {
     }
 
     /**
-     * Displays a formatted error message.
-     *
-     * @param message The error message to display.
-     */
-    public void showError(String message) {
-        System.out.println(LINE);
-        System.out.println("Error: " + message);
-        System.out.println(LINE);
-    }
-
-    /**
-     * Displays confirmation that a task has been added.
+     * Displays the result of a command between separator lines.
      *
-     * @param task The task that was added.
-     * @param totalTasks The total number of tasks after adding.
+     * @param result The result to display.
      */
-    public void showTaskAdded(Task task, int totalTasks) {
+    public void showResult(CommandResult result) {
         System.out.println(LINE);
-        System.out.println("Got it. I've added this task:");
-        System.out.println("  " + task);
-        System.out.println(String.format("Now you have %d tasks in the list.", totalTasks));
-        System.out.println(LINE);
-        System.out.println();
-    }
-
-    /**
-     * Displays all tasks in the task list with numbered formatting.
-     *
-     * @param tasks The list of tasks to display.
-     */
-    public void showTaskList(ArrayList<Task> tasks) {
-        System.out.println(LINE);
-        System.out.println("Here are the tasks in your list:");
-        for (int i = 0; i < tasks.size(); i++) {
-            System.out.println((i + 1) + ". " + tasks.get(i));
+        for (String line : result.getLines()) {
+            System.out.println(line);
         }
         System.out.println(LINE);
     }
 
     /**
-     * Displays confirmation that a task has been marked as done.
-     *
-     * @param task The task that was marked.
-     */
-    public void showTaskMarked(Task task) {
-        System.out.println(LINE);
-        System.out.println("Nice! I've marked this task as done:");
-        System.out.println(task);
-        System.out.println(LINE);
-    }
-
-    /**
-     * Displays confirmation that a task has been unmarked (set as not done).
-     *
-     * @param task The task that was unmarked.
-     */
-    public void showTaskUnmarked(Task task) {
-        System.out.println(LINE);
-        System.out.println("Ok, I've marked this task as not done yet:");
-        System.out.println(task);
-        System.out.println(LINE);
-    }
-
-    /**
-     * Displays confirmation that a task has been deleted.
-     *
-     * @param task The task that was deleted.
-     * @param totalTasks The total number of tasks after deletion.
+     * Displays an error message when background loading failed after some tasks were loaded.
      */
-    public void showTaskDeleted(Task task, int totalTasks) {
-        System.out.println(LINE);
-        System.out.println("Noted. I've removed this task:");
-        System.out.println(task);
-        System.out.println("Now you have " + totalTasks + " tasks in the list.");
-        System.out.println(LINE);
+    public void showPartialLoadError() {
+        System.out.println("Error loading the rest of the tasks from file. Only part of your list is shown,"
+                + " and changes made now will not be saved.");
     }
 
     /**
-     * Displays all tasks occurring on a specific date.
-     *
-     * @param tasks The list of tasks occurring on the specified date.
-     * @param date The date to display tasks for.
-     */
-    public void showTasksOnDate(ArrayList<Task> tasks, LocalDate date) {
-        System.out.println(LINE);
-        System.out.println("Tasks on " + date.format(DateTimeFormatter.ofPattern("MMM dd yyyy")) + ":");
-
-        if (tasks.isEmpty()) {
-            System.out.println("No tasks found on this date.");
-        } else {
-            for (int i = 0; i < tasks.size(); i++) {
-                System.out.println((i + 1) + ". " + tasks.get(i));
-            }
-        }
-        System.out.println(LINE);
-    }
-
-    /**
-     * Displays all tasks containing a specific keyword.
+     * Displays a formatted error message.
      *
-     * @param tasks The list of tasks occurring on the specified date.
-     * @param key The date to display tasks for.
+     * @param message The error message to display.
      */
-    public void showTasksWithKey(ArrayList<Task> tasks, String key) {
+    public void showError(String message) {
         System.out.println(LINE);
-        System.out.println("Here are the matching tasks in your list:");
-
-        if (tasks.isEmpty()) {
-            System.out.println("No tasks found on this date.");
-        } else {
-            for (int i = 0; i < tasks.size(); i++) {
-                System.out.println((i + 1) + ". " + tasks.get(i));
-            }
-        }
+        System.out.println("Error: " + message);
         System.out.println(LINE);
     }
 
-
-
     /**
-     * Displays an error message for invalid task indices.
+     * Displays how many commands a batch run processed and how fast.
      *
-     * @param totalTasks The total number of tasks in the list.
-     */
-    public void showInvalidIndex(int totalTasks) {
-        System.out.println(LINE);
-        System.out.println("Invalid index!");
-        if (totalTasks == 0) {
-            System.out.println("There are no tasks in your list!");
-        } else {
-            System.out.println("Please enter a number from 1 to " + totalTasks);
-        }
-        System.out.println(LINE);
-    }
-
-    /**
-     * Displays an error message and help text for empty task descriptions.
+     * @param commandCount The number of commands run.
+     * @param rejectedCount The number of commands that failed to parse or run.
+     * @param elapsedNanos The time the whole batch took, including the final save.
+     * @param saveCount The number of snapshots written.
      */
-    public void showEmptyDescription() {
+    public void showBatchSummary(int commandCount, int rejectedCount, long elapsedNanos, long saveCount) {
+        double elapsedMillis = elapsedNanos / 1_000_000.0;
+        double perSecond = elapsedNanos == 0 ? 0 : commandCount * 1_000_000_000.0 / elapsedNanos;
         System.out.println(LINE);
-        System.out.println("Task description cannot be empty!");
-        System.out.println("Input todo in format: todo <task>");
-        System.out.println("Example: ");
-        System.out.println("todo borrow book");
+        System.out.printf("Batch done: %d commands (%d rejected) in %.1f ms, %.0f commands/s, %d save(s)%n",
+                commandCount, rejectedCount, elapsedMillis, perSecond, saveCount);
         System.out.println(LINE);
-        System.out.println();
-    }
-
-    /**
-     * Displays an error message for invalid commands and lists valid commands.
-     */
-    public void showInvalidCommand() {
-        System.out.println("Invalid command");
-        System.out.println("Valid commands: todo, deadline, event, list, mark, unmark, delete, find-date, bye");
-    }
-
-    /**
-     * Displays an error message for invalid number format in task indices.
-     */
-    public void showInvalidNumberFormat() {
-        System.out.println("Invalid number format for task index.");
-        System.out.println("Enter a whole number please");
-    }
-
-    /**
-     * Displays help text and examples for deadline command format.
-     */
-    public void showDeadlineFormat() {
-        System.out.println("Input deadline in below format:");
-        System.out.println("deadline <task> /by <date> [time]");
-        System.out.println("Examples:");
-        System.out.println("deadline return book /by 2019-12-02");
-        System.out.println("deadline submit report /by 2/12/2019 1800");
-        System.out.println("deadline meeting /by 15/10/2019 2:30PM");
-    }
-
-    /**
-     * Displays help text and examples for event command format.
-     */
-    public void showEventFormat() {
-        System.out.println("Input event in the below format:");
-        System.out.println("event <event name> /from <start date-time> /to <end date-time>");
-        System.out.println("Examples:");
-        System.out.println("event project meeting /from 2019-10-15 1400 /to 2019-10-15 1600");
-        System.out.println("event conference /from 15/10/2019 2:00PM /to 17/10/2019 5:00PM");
-    }
-
-    /**
-     * Displays an error message for invalid date/time format with supported formats.
-     *
-     * @param invalidInput The invalid input that caused the error.
-     */
-    public void showDateTimeFormatError(String invalidInput) {
-        System.out.println("Invalid date/time format: " + invalidInput);
-        System.out.println("Supported formats: yyyy-MM-dd, dd/MM/yyyy, MM/dd/yyyy");
-        System.out.println("Time formats: HHmm, HH:mm, h:mma, ha (optional)");
-    }
-
-    /**
-     * Displays help text for find-date command format.
-     */
-    public void showFindDateFormat() {
-        System.out.println("Supported formats: yyyy-MM-dd, dd/MM/yyyy, MM/dd/yyyy");
-        System.out.println("Example: find-date 2019-12-02");
-    }
-
-    /**
-     * Displays an error message when end time is before start time in events.
-     */
-    public void showEndTimeBeforeStartTime() {
-        System.out.println("End date/time cannot be before start date/time!");
-    }
-
-    /**
-     * Displays an error message when task description or deadline is empty.
-     */
-    public void showEmptyTaskDetails() {
-        System.out.println("Task description and deadline cannot be empty!");
-    }
-
-    /**
-     * Displays an error message when event description or dates are empty.
-     */
-    public void showEmptyEventDetails() {
-        System.out.println("Event description and dates cannot be empty!");
     }
 
 }
@@ -0,0 +1,93 @@
+package gbthefatboy.entry;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import gbthefatboy.handler.CommandResult;
+import gbthefatboy.storage.Storage;
+import gbthefatboy.task.Task;
+import gbthefatboy.task.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GbTheFatBoyTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testFailedBackgroundLoadStillFinishesLoading() throws Exception {
+        Path dataFile = tempDir.resolve("tasks.bin");
+        Storage storage = new Storage(dataFile.toString());
+        ArrayList<Task> tasks = storage.loadTasks();
+        for (int i = 0; tasks.size() < 40_000; i++) {
+            tasks.add(new Todo("a task with a fairly long description to fill the file " + i));
+        }
+        storage.saveTasks(tasks);
+        storage.close();
+        byte[] snapshot = Files.readAllBytes(dataFile);
+        byte[] truncated = Arrays.copyOf(snapshot, snapshot.length * 2 / 3);
+        Files.write(dataFile, truncated);
+
+        GbTheFatBoy app = new GbTheFatBoy(dataFile.toString());
+        // find waits for loading to finish, so it would hang if a failed load left the list loading
+        CommandResult found = CompletableFuture.supplyAsync(() -> app.execute("find task"))
+                .get(10, TimeUnit.SECONDS);
+        assertFalse(found.isError());
+        assertTrue(found.getLines().size() > 1);
+        assertFalse(app.execute("todo after the failed load").isError());
+        assertFalse(app.execute("delete 1").isError());
+        app.shutdown();
+        // the partial list must not replace the data file, nor be journaled against it
+        assertTrue(Arrays.equals(truncated, Files.readAllBytes(dataFile)));
+        try (var files = Files.list(tempDir)) {
+            assertFalse(files.anyMatch(path -> path.toString().contains(".journal.")
+                    && path.toFile().length() > 0));
+        }
+    }
+
+    @Test
+    public void testBatchSavesEveryNCommandsAndStopsAtBye() throws Exception {
+        Path dataFile = tempDir.resolve("tasks.txt");
+        GbTheFatBoy app = new GbTheFatBoy(dataFile.toString());
+        String commands = String.join("\n", "todo one", "todo two", "bogus", "", "todo three", "mark 9",
+                "todo four", "mark 1", "bye", "todo after bye");
+
+        BatchSummary summary = app.runBatch(new BufferedReader(new StringReader(commands)), 3);
+
+        assertEquals(8, summary.getCommandCount());
+        assertEquals(2, summary.getRejectedCount());
+        assertEquals(2, summary.getIntermediateSaveCount());
+        assertTrue(summary.getSaveCount() >= 1);
+        Storage storage = new Storage(dataFile.toString());
+        ArrayList<Task> saved = storage.loadTasks();
+        storage.close();
+        assertEquals(4, saved.size());
+        assertTrue(saved.get(0).isDone());
+        assertEquals("four", saved.get(3).getDescription());
+    }
+
+    @Test
+    public void testStatsCountTheByeThatEndsTheSession() throws Exception {
+        Path dataFile = tempDir.resolve("tasks.txt");
+        GbTheFatBoy app = new GbTheFatBoy(dataFile.toString());
+
+        app.runBatch(new BufferedReader(new StringReader("todo one\nbye\n")), 0);
+
+        List<String> stats = Files.readAllLines(tempDir.resolve("stats.txt"));
+        assertTrue(stats.stream().anyMatch(line -> line.startsWith("bye ") && line.contains("count 1,")));
+        assertTrue(stats.stream().anyMatch(line -> line.startsWith("todo ") && line.contains("count 1,")));
+    }
+}
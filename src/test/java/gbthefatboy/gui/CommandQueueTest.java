@@ -0,0 +1,87 @@
+package gbthefatboy.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandQueueTest {
+
+    @Test
+    public void testSubmitReturnsBeforeCommandRuns() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch answered = new CountDownLatch(1);
+        CommandQueue queue = new CommandQueue(input -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "done " + input;
+        }, Runnable::run);
+
+        List<String> responses = new ArrayList<>();
+        queue.submit("list", response -> {
+            responses.add(response);
+            answered.countDown();
+        });
+        assertTrue(responses.isEmpty());
+
+        release.countDown();
+        assertTrue(answered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("done list"), responses);
+        queue.shutdown();
+    }
+
+    @Test
+    public void testResponsesPublishedInSubmissionOrder() throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(50);
+        CommandQueue queue = new CommandQueue(input -> {
+            if (input.equals("0")) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return input;
+        }, Runnable::run);
+
+        List<String> responses = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add(String.valueOf(i));
+            queue.submit(String.valueOf(i), response -> {
+                synchronized (responses) {
+                    responses.add(response);
+                }
+                answered.countDown();
+            });
+        }
+        assertTrue(answered.await(5, TimeUnit.SECONDS));
+        assertEquals(expected, responses);
+        queue.shutdown();
+    }
+
+    @Test
+    public void testFailingCommandStillAnswered() throws InterruptedException {
+        CountDownLatch answered = new CountDownLatch(1);
+        CommandQueue queue = new CommandQueue(input -> {
+            throw new IllegalStateException("disk full");
+        }, Runnable::run);
+
+        List<String> responses = new ArrayList<>();
+        queue.submit("todo read", response -> {
+            responses.add(response);
+            answered.countDown();
+        });
+        assertTrue(answered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("Error: disk full"), responses);
+        queue.shutdown();
+    }
+}
@@ -0,0 +1,92 @@
+package gbthefatboy.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConversationHistoryTest {
+
+    private static List<String> texts(List<Message> messages) {
+        List<String> texts = new ArrayList<>();
+        for (Message message : messages) {
+            texts.add(message.getText());
+        }
+        return texts;
+    }
+
+    private static void appendNumbered(ConversationHistory history, int from, int to) {
+        for (int i = from; i <= to; i++) {
+            history.append(Message.fromUser(String.valueOf(i)));
+        }
+    }
+
+    @Test
+    public void testAppendKeepsNewestMessagesShown() {
+        List<Message> shown = new ArrayList<>();
+        ConversationHistory history = new ConversationHistory(shown, 3, 10);
+        appendNumbered(history, 1, 2);
+        assertFalse(history.hasArchived());
+
+        appendNumbered(history, 3, 5);
+        assertEquals(List.of("3", "4", "5"), texts(shown));
+        assertTrue(history.hasArchived());
+    }
+
+    @Test
+    public void testRestoreBringsBackNewestArchivedInOrder() {
+        List<Message> shown = new ArrayList<>();
+        ConversationHistory history = new ConversationHistory(shown, 2, 10);
+        appendNumbered(history, 1, 6);
+
+        assertEquals(2, history.restore(2));
+        assertEquals(List.of("3", "4", "5", "6"), texts(shown));
+        assertEquals(2, history.restore(5));
+        assertEquals(List.of("1", "2", "3", "4", "5", "6"), texts(shown));
+        assertFalse(history.hasArchived());
+        assertEquals(0, history.restore(5));
+    }
+
+    @Test
+    public void testArchiveDropsOldestWhenFull() {
+        List<Message> shown = new ArrayList<>();
+        ConversationHistory history = new ConversationHistory(shown, 2, 3);
+        appendNumbered(history, 1, 10);
+
+        assertEquals(3, history.restore(10));
+        assertEquals(List.of("6", "7", "8", "9", "10"), texts(shown));
+    }
+
+    @Test
+    public void testPairOfMessagesAppendedTogether() {
+        List<Message> shown = new ArrayList<>();
+        ConversationHistory history = new ConversationHistory(shown, 3, 10);
+        history.append(Message.fromUser("list"), Message.fromGbTheFatBoy("1. [T][ ] read"));
+        history.append(Message.fromUser("bye"), Message.fromGbTheFatBoy("Bye!"));
+
+        assertEquals(List.of("1. [T][ ] read", "bye", "Bye!"), texts(shown));
+        assertTrue(shown.get(1).isFromUser());
+        assertFalse(shown.get(2).isFromUser());
+    }
+
+    @Test
+    public void testReplaceShownAndArchivedMessages() {
+        List<Message> shown = new ArrayList<>();
+        ConversationHistory history = new ConversationHistory(shown, 2, 10);
+        Message first = Message.fromGbTheFatBoy("...");
+        Message second = Message.fromGbTheFatBoy("...");
+        history.append(Message.fromUser("list"), first);
+        history.append(Message.fromUser("find book"), second);
+
+        history.replace(second, Message.fromGbTheFatBoy("No matching tasks found."));
+        history.replace(first, Message.fromGbTheFatBoy("Your list is empty."));
+        assertEquals(List.of("find book", "No matching tasks found."), texts(shown));
+
+        history.restore(2);
+        assertEquals(List.of("list", "Your list is empty.", "find book", "No matching tasks found."), texts(shown));
+    }
+}
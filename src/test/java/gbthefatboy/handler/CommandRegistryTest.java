@@ -0,0 +1,136 @@
+package gbthefatboy.handler;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.command.CommandType;
+import gbthefatboy.exception.GbException;
+import gbthefatboy.metrics.LatencyHistogram;
+import gbthefatboy.metrics.Metrics;
+import gbthefatboy.parser.Parser;
+import gbthefatboy.storage.Storage;
+import gbthefatboy.storage.TaskList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TaskList taskList;
+    private Storage storage;
+    private Metrics metrics;
+    private CommandRegistry registry;
+    private boolean hasExited;
+
+    @BeforeEach
+    public void setup() {
+        taskList = new TaskList();
+        storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        hasExited = false;
+        metrics = new Metrics(new LatencyHistogram(), new LatencyHistogram(), () -> "",
+                taskList.getDescriptionPool());
+        registry = CommandRegistry.createDefault(taskList, storage, metrics, () -> hasExited = true);
+    }
+
+    @Test
+    public void testHandlersRunCommands() throws GbException {
+        CommandResult added = registry.execute(Parser.parse("todo borrow book"));
+        assertFalse(added.isError());
+        assertEquals("Got it. I've added this task:\n  [T][ ] borrow book\nNow you have 1 tasks in the list.",
+                added.getText());
+
+        registry.execute(Parser.parse("mark 1"));
+        CommandResult listed = registry.execute(Parser.parse("list"));
+        assertEquals("1. [T][X] borrow book", listed.getLines().get(1));
+
+        registry.execute(Parser.parse("bye"));
+        assertTrue(hasExited);
+        storage.close();
+    }
+
+    @Test
+    public void testFilteredListKeepsTaskNumbers() throws GbException {
+        for (String input : List.of("todo read book", "deadline return book /by 2019-12-02", "todo buy milk",
+                "deadline pay rent /by 2019-12-05", "event party /from 2019-12-06 1800 /to 2019-12-06 2300",
+                "deadline file taxes /by 2019-12-31")) {
+            registry.execute(Parser.parse(input));
+        }
+        registry.execute(Parser.parse("mark 4"));
+
+        List<String> pending = registry.execute(Parser.parse("list --pending --type D")).getLines();
+        assertEquals(3, pending.size());
+        assertTrue(pending.get(1).startsWith("2. [D][ ] return book"));
+        assertTrue(pending.get(2).startsWith("6. [D][ ] file taxes"));
+
+        List<String> secondPage = registry.execute(Parser.parse("list 2 --page-size 2 --type D")).getLines();
+        assertTrue(secondPage.get(1).startsWith("6. [D][ ] file taxes"));
+        assertEquals("Page 2 of 2", secondPage.get(2));
+
+        registry.execute(Parser.parse("delete 1"));
+        List<String> done = registry.execute(Parser.parse("list --done")).getLines();
+        assertEquals(List.of("Here are the matching tasks in your list:",
+                "3. [D][X] pay rent (by: Dec 05 2019, 11:59PM)"), done);
+        storage.close();
+    }
+
+    @Test
+    public void testFindKeepsTaskNumbers() throws GbException {
+        for (String input : List.of("todo read book", "todo buy milk", "deadline return book /by 2019-12-02",
+                "todo buy bread", "tag 1 home", "tag 4 home", "mark 4")) {
+            registry.execute(Parser.parse(input));
+        }
+
+        assertEquals(List.of("Here are the matching tasks in your list:", "1. [T][ ] read book #home",
+                "3. [D][ ] return book (by: Dec 02 2019, 11:59PM)"),
+                registry.execute(Parser.parse("find book")).getLines());
+        assertEquals(List.of("Here are the matching tasks in your list:", "4. [T][X] buy bread #home"),
+                registry.execute(Parser.parse("find --done bu")).getLines());
+        assertEquals(List.of("Here are the matching tasks in your list:", "1. [T][ ] read book #home",
+                "4. [T][X] buy bread #home"), registry.execute(Parser.parse("find #home")).getLines());
+
+        registry.execute(Parser.parse("delete 1"));
+        assertEquals("2. [D][ ] return book (by: Dec 02 2019, 11:59PM)",
+                registry.execute(Parser.parse("find book")).getLines().get(1));
+        storage.close();
+    }
+
+    @Test
+    public void testErrorsBecomeResults() throws GbException {
+        GbException e = assertThrows(GbException.class, () -> registry.execute(Parser.parse("delete 3")));
+        CommandResult result = ErrorResults.of(Parser.parse("delete 3"), e, taskList.getSize());
+        assertTrue(result.isError());
+        assertEquals("Invalid index!\nThere are no tasks in your list!", result.getText());
+        assertEquals(1, metrics.getExecuteLatency(CommandType.DELETE).getCount());
+        assertEquals(1, metrics.getErrorCount(CommandType.DELETE));
+        storage.close();
+    }
+
+    @Test
+    public void testInvalidDateNamesTheDateThatFailed() throws GbException {
+        Command event = Parser.parse("event meeting /from 2019-12-03 1400 /to Sunday");
+        GbException e = assertThrows(GbException.class, () -> registry.execute(event));
+        assertEquals("Invalid date/time format: Sunday", ErrorResults.of(event, e, 0).getLines().get(0));
+
+        Command deadline = Parser.parse("deadline report /by  32/13/2019 ");
+        e = assertThrows(GbException.class, () -> registry.execute(deadline));
+        assertEquals("Invalid date/time format: 32/13/2019", ErrorResults.of(deadline, e, 0).getLines().get(0));
+        storage.close();
+    }
+
+    @Test
+    public void testRegisteredHandlerReplacesDefault() throws GbException {
+        registry.register(CommandType.LIST, command -> CommandResult.of("replaced"));
+        assertEquals("replaced", registry.execute(Parser.parse("list")).getText());
+        storage.close();
+    }
+}
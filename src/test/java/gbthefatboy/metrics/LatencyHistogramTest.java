@@ -0,0 +1,45 @@
+package gbthefatboy.metrics;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(0.99));
+    }
+
+    @Test
+    public void testPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+
+        long median = histogram.getPercentileNanos(0.5);
+        assertTrue(median >= 500_000 && median <= 500_000 * 1.125, "p50 was " + median);
+        long p99 = histogram.getPercentileNanos(0.99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 was " + p99);
+        assertEquals(1_000_000, histogram.getPercentileNanos(1.0));
+    }
+
+    @Test
+    public void testBucketsCoverTheirValues() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong() >>> (1 + random.nextInt(63));
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.upperBoundOf(bucket) >= value);
+            assertTrue(bucket == 0 || LatencyHistogram.upperBoundOf(bucket - 1) < value);
+        }
+    }
+}
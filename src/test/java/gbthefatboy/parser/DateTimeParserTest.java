@@ -0,0 +1,66 @@
+package gbthefatboy.parser;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DateTimeParserTest {
+
+    @Test
+    public void testParseDateFormats() {
+        LocalDate expected = LocalDate.of(2019, 12, 2);
+        assertEquals(expected, DateTimeParser.parseDate("2019-12-02"));
+        assertEquals(expected, DateTimeParser.parseDate("02/12/2019"));
+        assertEquals(expected, DateTimeParser.parseDate("2/12/2019"));
+        assertEquals(expected, DateTimeParser.parseDate("2019/12/02"));
+        assertEquals(expected, DateTimeParser.parseDate(" 2019/12/2 "));
+    }
+
+    @Test
+    public void testParseDateReadsDayBeforeMonth() {
+        assertEquals(LocalDate.of(2019, 3, 2), DateTimeParser.parseDate("02/03/2019"));
+        assertEquals(LocalDate.of(2019, 2, 12), DateTimeParser.parseDate("12/02/2019"));
+        assertEquals(LocalDate.of(2019, 12, 25), DateTimeParser.parseDate("12/25/2019"));
+        assertEquals(LocalDate.of(2019, 2, 28), DateTimeParser.parseDate("2019-02-31"));
+        assertEquals(LocalDate.of(2020, 2, 29), DateTimeParser.parseDate("31/2/2020"));
+        assertEquals(LocalDate.of(12, 3, 4), DateTimeParser.parseDate("4/3/0012"));
+    }
+
+    @Test
+    public void testParseDateInvalidThrows() {
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDate(""));
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDate("13/13/2019"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDate("2019-1-02"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDate("2019/12-02"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDate("0000-01-01"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDate("Dec 2 2019"));
+    }
+
+    @Test
+    public void testParseDateTimeFormats() {
+        LocalDateTime expected = LocalDateTime.of(2019, 12, 2, 18, 0);
+        assertEquals(expected, DateTimeParser.parseDateTime("2019-12-02 1800"));
+        assertEquals(expected, DateTimeParser.parseDateTime("2019-12-02 18:00"));
+        assertEquals(expected, DateTimeParser.parseDateTime("2019-12-02 6:00PM"));
+        assertEquals(expected, DateTimeParser.parseDateTime("2019-12-02 6pm"));
+        assertEquals(expected, DateTimeParser.parseDateTime("2019-12-02\t 06Pm"));
+        assertEquals(LocalDateTime.of(2019, 12, 2, 23, 59), DateTimeParser.parseDateTime("2019-12-02"));
+        assertEquals(LocalDateTime.of(2019, 12, 2, 0, 30), DateTimeParser.parseDateTime("2/12/2019 12:30am"));
+        assertEquals(LocalDateTime.of(2019, 12, 2, 12, 0), DateTimeParser.parseDateTime("2019-12-02 0pm"));
+        assertEquals(LocalDateTime.of(2019, 12, 2, 0, 0), DateTimeParser.parseDateTime("2019-12-02 2400"));
+    }
+
+    @Test
+    public void testParseDateTimeInvalidThrows() {
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDateTime("2019-12-02 2460"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDateTime("2019-12-02 6:00"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDateTime("2019-12-02 13pm"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDateTime("2019-12-02 6 pm"));
+        assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDateTime("2019-12-02T18:00"));
+    }
+}
@@ -0,0 +1,142 @@
+package gbthefatboy.parser;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import gbthefatboy.command.Command;
+import gbthefatboy.command.CommandType;
+import gbthefatboy.command.FindQuery;
+import gbthefatboy.command.ListOptions;
+import gbthefatboy.command.Tag;
+import gbthefatboy.exception.ErrorCode;
+import gbthefatboy.exception.GbException;
+import gbthefatboy.task.Deadline;
+import gbthefatboy.task.Event;
+import gbthefatboy.task.TaskFilter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParserTest {
+
+    @Test
+    public void testParseSplitsKeywordAndArguments() throws GbException {
+        Command command = Parser.parse("  ToDo   borrow  book \t");
+        assertEquals(CommandType.TODO, command.getType());
+        assertEquals("borrow  book", command.getArguments());
+
+        assertEquals(CommandType.FIND_DATE, Parser.parse("find-date 2019-12-02").getType());
+        assertEquals("", Parser.parse("LIST").getArguments());
+    }
+
+    @Test
+    public void testParseInvalidCommandThrows() {
+        assertThrows(GbException.class, () -> Parser.parse("   "));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("lists"));
+        assertThrows(IllegalArgumentException.class, () -> Parser.parse("todo\tbook"));
+    }
+
+    @Test
+    public void testParseDeadlineFromCommand() throws GbException {
+        Deadline deadline = Parser.parseDeadline(Parser.parse("deadline return book /by 2019-12-02 1800"));
+        assertEquals("return book", deadline.getDescription());
+        assertEquals(LocalDateTime.of(2019, 12, 2, 18, 0), deadline.getDeadline());
+
+        assertThrows(GbException.class, () -> Parser.parseDeadline(Parser.parse("deadline return book by Sunday")));
+        assertThrows(GbException.class, () -> Parser.parseDeadline(Parser.parse("deadline return book /by Sunday")));
+    }
+
+    @Test
+    public void testParseEventFromCommand() throws GbException {
+        Event event = Parser.parseEvent(Parser.parse("event meeting /from 2019-12-02 1400 /to 2019-12-02 1600"));
+        assertEquals("meeting", event.getDescription());
+        assertEquals(LocalDateTime.of(2019, 12, 2, 14, 0), event.getStartDateTime());
+        assertEquals(LocalDateTime.of(2019, 12, 2, 16, 0), event.getEndDateTime());
+
+        assertThrows(GbException.class, () -> Parser.parseEvent(Parser.parse("event meeting /to 1600 /from 1400")));
+        assertThrows(GbException.class, () -> Parser.parseEvent("meeting /from 2019-12-02"));
+    }
+
+    @Test
+    public void testErrorsCarryCodeAndPayload() {
+        GbException empty = assertThrows(GbException.class,
+                () -> Parser.parseEvent(" /from 2019-12-02 /to 2019-12-03"));
+        assertEquals(ErrorCode.EMPTY_EVENT, empty.getCode());
+
+        GbException reversed = assertThrows(GbException.class,
+                () -> Parser.parseEvent("meeting /from 2019-12-03 /to 2019-12-02"));
+        assertEquals(ErrorCode.END_BEFORE_START, reversed.getCode());
+
+        GbException badDate = assertThrows(GbException.class,
+                () -> Parser.parseEvent("meeting /from 2019-12-03 /to Sunday"));
+        assertEquals(ErrorCode.INVALID_DATE_TIME, badDate.getCode());
+        assertEquals("Sunday", badDate.getPayload(0));
+        assertEquals("Invalid date/time format Sunday", badDate.getMessage());
+        assertEquals(0, badDate.getStackTrace().length);
+
+        GbException range = assertThrows(GbException.class, () -> Parser.parseDateRange("2019-12-08 2019-12-02"));
+        assertEquals(ErrorCode.INVALID_DATE_RANGE, range.getCode());
+        assertEquals("Invalid date range: 2019-12-02 is before 2019-12-08", range.getMessage());
+
+        assertEquals(ErrorCode.EMPTY_TAG, assertThrows(GbException.class, () -> Parser.parseTag("2")).getCode());
+    }
+
+    @Test
+    public void testParseTags() throws GbException {
+        Tag tag = Parser.parseTag("2 work  #urgent");
+        assertEquals(2, tag.getIndex());
+        assertEquals(List.of("work", "urgent"), tag.getNames());
+        assertEquals(ErrorCode.INVALID_TAG_INDEX,
+                assertThrows(GbException.class, () -> Parser.parseTag("two work")).getCode());
+
+        assertEquals(List.of("work", "urgent"), Parser.parseTagQuery("#work #urgent"));
+        assertTrue(Parser.parseTagQuery("work #urgent").isEmpty());
+        assertTrue(Parser.parseTagQuery("").isEmpty());
+    }
+
+    @Test
+    public void testParseListOptions() throws GbException {
+        ListOptions defaults = Parser.parseListOptions("");
+        assertEquals(1, defaults.getPage());
+        assertEquals(ListOptions.DEFAULT_PAGE_SIZE, defaults.getPageSize());
+
+        ListOptions options = Parser.parseListOptions("--page-size 20  3");
+        assertEquals(3, options.getPage());
+        assertEquals(20, options.getPageSize());
+
+        assertEquals(ErrorCode.INVALID_LIST_OPTION,
+                assertThrows(GbException.class, () -> Parser.parseListOptions("0")).getCode());
+        assertThrows(GbException.class, () -> Parser.parseListOptions("2 --page-size"));
+        assertThrows(GbException.class, () -> Parser.parseListOptions("--bogus"));
+    }
+
+    @Test
+    public void testParseFilters() throws GbException {
+        ListOptions options = Parser.parseListOptions("--pending 2 --type D --type e");
+        assertEquals(2, options.getPage());
+        TaskFilter filter = options.getFilter();
+        assertTrue(filter.showsPending());
+        assertFalse(filter.showsDone());
+        assertEquals(EnumSet.of(TaskFilter.Type.DEADLINE, TaskFilter.Type.EVENT), filter.getTypes());
+        assertEquals("--pending --type D --type E", filter.toOptions());
+        assertTrue(Parser.parseListOptions("--pending --done").getFilter().isAll());
+        assertEquals(ErrorCode.INVALID_FILTER_OPTION,
+                assertThrows(GbException.class, () -> Parser.parseListOptions("--type X")).getCode());
+
+        FindQuery query = Parser.parseFindQuery("--done --type T read  book");
+        assertEquals("read  book", query.getKeyword());
+        assertEquals(TaskFilter.ALL.withDone().withType(TaskFilter.Type.TODO), query.getFilter());
+        assertEquals(List.of("work"), Parser.parseFindQuery("--pending #work").getTags());
+        assertEquals("--verbose", Parser.parseFindQuery("--verbose").getKeyword());
+        assertTrue(Parser.parseFindQuery("--verbose").getFilter().isAll());
+        for (String arguments : List.of("", "  ", "--pending", "--done --type D  ")) {
+            assertEquals(ErrorCode.EMPTY_KEYWORD,
+                    assertThrows(GbException.class, () -> Parser.parseFindQuery(arguments)).getCode());
+        }
+    }
+}
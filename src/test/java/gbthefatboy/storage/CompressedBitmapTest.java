@@ -0,0 +1,108 @@
+package gbthefatboy.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressedBitmapTest {
+
+    private static List<Integer> ids(CompressedBitmap bitmap) {
+        List<Integer> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+
+    /**
+     * Fills a bitmap and a reference set with the same random ids, dense in some chunks and sparse in others.
+     */
+    private static CompressedBitmap fill(Random random, TreeSet<Integer> expected) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < 30_000; i++) {
+            int id = random.nextBoolean() ? random.nextInt(1 << 15) : random.nextInt(1 << 20);
+            bitmap.add(id);
+            expected.add(id);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            int id = random.nextInt(1 << 15);
+            bitmap.remove(id);
+            expected.remove(id);
+        }
+        return bitmap;
+    }
+
+    @Test
+    public void testAddRemoveContains() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        assertTrue(bitmap.isEmpty());
+        bitmap.add(3);
+        bitmap.add(70_000);
+        bitmap.add(3);
+        assertTrue(bitmap.contains(3));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(4));
+        assertEquals(2, bitmap.getCardinality());
+
+        bitmap.remove(3);
+        bitmap.remove(5);
+        assertEquals(List.of(70_000), ids(bitmap));
+        bitmap.remove(70_000);
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    public void testChunkSwitchesBetweenArrayAndBits() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int id = 0; id < CompressedBitmap.ARRAY_LIMIT * 2; id++) {
+            bitmap.add(id * 2);
+        }
+        assertEquals(CompressedBitmap.ARRAY_LIMIT * 2, bitmap.getCardinality());
+        for (int id = 0; id < CompressedBitmap.ARRAY_LIMIT * 2 - 10; id++) {
+            bitmap.remove(id * 2);
+        }
+        assertEquals(10, bitmap.getCardinality());
+        assertEquals((CompressedBitmap.ARRAY_LIMIT * 2 - 10) * 2, (int) ids(bitmap).get(0));
+    }
+
+    @Test
+    public void testSetOperationsMatchReference() {
+        Random random = new Random(11);
+        TreeSet<Integer> first = new TreeSet<>();
+        TreeSet<Integer> second = new TreeSet<>();
+        CompressedBitmap firstBitmap = fill(random, first);
+        CompressedBitmap secondBitmap = fill(random, second);
+        assertEquals(new ArrayList<>(first), ids(firstBitmap));
+
+        TreeSet<Integer> both = new TreeSet<>(first);
+        both.retainAll(second);
+        assertEquals(new ArrayList<>(both), ids(CompressedBitmap.and(firstBitmap, secondBitmap)));
+
+        TreeSet<Integer> either = new TreeSet<>(first);
+        either.addAll(second);
+        assertEquals(new ArrayList<>(either), ids(CompressedBitmap.or(firstBitmap, secondBitmap)));
+
+        TreeSet<Integer> onlyFirst = new TreeSet<>(first);
+        onlyFirst.removeAll(second);
+        assertEquals(new ArrayList<>(onlyFirst), ids(CompressedBitmap.andNot(firstBitmap, secondBitmap)));
+        assertEquals(onlyFirst.size(), CompressedBitmap.andNot(firstBitmap, secondBitmap).getCardinality());
+    }
+
+    @Test
+    public void testRangeMatchesSublistOfIds() {
+        TreeSet<Integer> expected = new TreeSet<>();
+        CompressedBitmap bitmap = fill(new Random(5), expected);
+        List<Integer> all = new ArrayList<>(expected);
+        int[][] ranges = {{0, 10}, {0, all.size()}, {7_000, 3_000}, {all.size() - 5, 50}, {all.size(), 10}, {3, 0}};
+        for (int[] range : ranges) {
+            List<Integer> page = new ArrayList<>();
+            bitmap.forEach(range[0], range[1], page::add);
+            assertEquals(all.subList(range[0], Math.min(all.size(), range[0] + range[1])), page);
+        }
+    }
+}
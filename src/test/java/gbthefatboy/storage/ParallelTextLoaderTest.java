@@ -0,0 +1,120 @@
+package gbthefatboy.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import gbthefatboy.exception.GbException;
+import gbthefatboy.task.Task;
+import gbthefatboy.task.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParallelTextLoaderTest {
+
+    // Keeps lines starting with "T " as todos described by the whole line and skips the rest
+    private static final Function<String, Task> PARSER = line -> line.startsWith("T ") ? new Todo(line) : null;
+
+    @TempDir
+    Path tempDir;
+
+    private static List<String> describe(List<Task> tasks) {
+        List<String> descriptions = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+
+    private static List<String> loadSequentially(Path path) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Task task = PARSER.apply(line);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            }
+        }
+        return describe(tasks);
+    }
+
+    private static List<String> loadInChunks(Path path, int chunkCount, LoadTimings timings) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        ParallelTextLoader.load(path, PARSER, tasks::addAll, timings, chunkCount);
+        return describe(tasks);
+    }
+
+    @Test
+    public void testChunksKeepFileOrder() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            text.append("T | ").append(i % 2).append(" | task ").append(i).append('\n');
+        }
+        Path path = tempDir.resolve("tasks.txt");
+        Files.writeString(path, text);
+
+        LoadTimings timings = new LoadTimings();
+        List<String> loaded = loadInChunks(path, 7, timings);
+        assertEquals(5000, loaded.size());
+        assertEquals(loadSequentially(path), loaded);
+        assertEquals(7, timings.getChunkCount());
+    }
+
+    @Test
+    public void testLineSpanningChunksIsReadWhole() throws IOException {
+        String longLine = "T | 0 | " + "x".repeat(20_000);
+        String text = "T | 0 | first\n" + longLine + "\nT | 1 | \u00e9t\u00e9 caf\u00e9\r\nT | 0 | last";
+        Path path = tempDir.resolve("tasks.txt");
+        Files.writeString(path, text);
+
+        List<String> loaded = loadInChunks(path, 16, new LoadTimings());
+        assertEquals(List.of("T | 0 | first", longLine, "T | 1 | \u00e9t\u00e9 caf\u00e9", "T | 0 | last"), loaded);
+        assertEquals(loadSequentially(path), loaded);
+    }
+
+    @Test
+    public void testMalformedLinesAreSkipped() throws IOException {
+        String text = "# gen 3\nT | 0 | kept\n\nX | 1 | unknown\nT | 1 | also kept\ngarbage\n\n";
+        Path path = tempDir.resolve("tasks.txt");
+        Files.writeString(path, text);
+
+        for (int chunkCount = 1; chunkCount <= 8; chunkCount++) {
+            List<String> loaded = loadInChunks(path, chunkCount, new LoadTimings());
+            assertEquals(List.of("T | 0 | kept", "T | 1 | also kept"), loaded);
+        }
+    }
+
+    @Test
+    public void testLargeSnapshotLoadsLikeSmallOne() throws IOException, GbException {
+        StringBuilder text = new StringBuilder("# gen 0\n");
+        int expected = 0;
+        for (int i = 0; text.length() < ParallelTextLoader.PARALLEL_THRESHOLD_BYTES + 1024; i++) {
+            if (i == 100_000) {
+                text.append("T | 0\n").append("D | 0 | no date | soon\n").append("Q | 1 | unknown type\n");
+            }
+            text.append("T | ").append(i % 2).append(" | task ").append(i).append('\n');
+            expected++;
+        }
+        Path path = tempDir.resolve("tasks.txt");
+        Files.writeString(path, text);
+
+        Storage storage = new Storage(path.toString());
+        ArrayList<Task> tasks = storage.loadTasks();
+        storage.close();
+        assertEquals(expected, tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals("task " + i, tasks.get(i).getDescription());
+            assertEquals(i % 2 == 1, tasks.get(i).isDone());
+        }
+    }
+}
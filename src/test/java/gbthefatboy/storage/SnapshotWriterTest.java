@@ -0,0 +1,99 @@
+package gbthefatboy.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import gbthefatboy.task.Task;
+import gbthefatboy.task.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SnapshotWriterTest {
+
+    private final List<Integer> written = new ArrayList<>();
+
+    private synchronized void record(int generation) {
+        written.add(generation);
+    }
+
+    private synchronized List<Integer> getWritten() {
+        return new ArrayList<>(written);
+    }
+
+    @Test
+    public void testPendingSavesCoalesce() throws Exception {
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        PersistenceStats stats = new PersistenceStats();
+        SnapshotWriter writer = new SnapshotWriter((tasks, generation) -> {
+            if (generation == 1) {
+                firstWriteStarted.countDown();
+                try {
+                    releaseFirstWrite.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            record(generation);
+        }, stats);
+
+        writer.submit(List.of(), 1);
+        assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+        writer.submit(List.of(), 2);
+        writer.submit(List.of(), 3);
+        writer.submit(List.of(new Todo("latest")), 4);
+        releaseFirstWrite.countDown();
+
+        assertNull(writer.awaitIdle());
+        assertEquals(List.of(1, 4), getWritten());
+        assertEquals(2, stats.getFlushCount());
+        assertEquals(2, stats.getCoalescedCount());
+        writer.shutdown();
+    }
+
+    @Test
+    public void testShutdownWritesPendingSnapshot() {
+        List<Task> saved = new ArrayList<>();
+        SnapshotWriter writer = new SnapshotWriter((tasks, generation) -> {
+            synchronized (saved) {
+                saved.addAll(tasks);
+            }
+            record(generation);
+        }, new PersistenceStats());
+
+        writer.submit(List.of(new Todo("Buy groceries")), 7);
+        writer.shutdown();
+
+        assertTrue(writer.isIdle());
+        assertEquals(List.of(7), getWritten());
+        assertEquals("Buy groceries", saved.get(0).getDescription());
+    }
+
+    @Test
+    public void testFailedWriteIsReported() {
+        PersistenceStats stats = new PersistenceStats();
+        SnapshotWriter writer = new SnapshotWriter((tasks, generation) -> {
+            if (generation == 1) {
+                throw new IOException("disk full");
+            }
+            record(generation);
+        }, stats);
+
+        writer.submit(List.of(), 1);
+        assertEquals("disk full", writer.awaitIdle());
+        assertEquals(1, stats.getFailedFlushCount());
+        assertEquals(0, stats.getFlushCount());
+
+        writer.submit(List.of(), 2);
+        assertNull(writer.awaitIdle());
+        assertEquals(List.of(2), getWritten());
+        writer.shutdown();
+    }
+}
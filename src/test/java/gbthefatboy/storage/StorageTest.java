@@ -0,0 +1,274 @@
+package gbthefatboy.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import gbthefatboy.exception.GbException;
+import gbthefatboy.task.Deadline;
+import gbthefatboy.task.Event;
+import gbthefatboy.task.Task;
+import gbthefatboy.task.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String dataFile;
+
+    @BeforeEach
+    public void setup() {
+        dataFile = tempDir.resolve("tasks.txt").toString();
+    }
+
+    @Test
+    public void testJournaledChangesAreReplayed() throws GbException {
+        Storage storage = new Storage(dataFile);
+        ArrayList<Task> tasks = storage.loadTasks();
+        Todo todo = new Todo("Buy groceries");
+        tasks.add(todo);
+        storage.appendAdd(todo);
+        Deadline deadline = new Deadline("Submit report", LocalDateTime.of(2025, 8, 28, 23, 59));
+        tasks.add(deadline);
+        storage.appendAdd(deadline);
+        storage.appendMark(2);
+        storage.appendDescription(1, "Buy groceries #home");
+        storage.appendDelete(1);
+        storage.close();
+
+        ArrayList<Task> loaded = new Storage(dataFile).loadTasks();
+        assertEquals(1, loaded.size());
+        assertEquals("Submit report", loaded.get(0).getDescription());
+        assertTrue(loaded.get(0).isDone());
+    }
+
+    @Test
+    public void testSaveFoldsJournalIntoSnapshot() throws Exception {
+        Storage storage = new Storage(dataFile);
+        ArrayList<Task> tasks = storage.loadTasks();
+        Todo todo = new Todo("Buy groceries");
+        tasks.add(todo);
+        storage.appendAdd(todo);
+        storage.saveTasks(tasks);
+        storage.appendMark(1);
+        storage.close();
+
+        long segments;
+        try (var files = Files.list(tempDir)) {
+            segments = files.filter(path -> path.getFileName().toString().startsWith("tasks.txt.journal.")).count();
+        }
+        assertEquals(1, segments);
+
+        ArrayList<Task> loaded = new Storage(dataFile).loadTasks();
+        assertEquals(1, loaded.size());
+        assertTrue(loaded.get(0).isDone());
+    }
+
+    @Test
+    public void testStaleSegmentIsNotReplayedTwice() throws Exception {
+        Storage storage = new Storage(dataFile);
+        ArrayList<Task> tasks = storage.loadTasks();
+        Todo todo = new Todo("Buy groceries");
+        tasks.add(todo);
+        storage.appendAdd(todo);
+        storage.close();
+
+        // Simulate a crash after the snapshot was written but before the old segment was removed
+        Path staleSegment = tempDir.resolve("tasks.txt.journal.0");
+        byte[] staleRecords = Files.readAllBytes(staleSegment);
+        storage = new Storage(dataFile);
+        storage.saveTasks(storage.loadTasks());
+        storage.close();
+        Files.write(staleSegment, staleRecords);
+
+        ArrayList<Task> loaded = new Storage(dataFile).loadTasks();
+        assertEquals(1, loaded.size());
+        assertFalse(loaded.get(0).isDone());
+    }
+
+    @Test
+    public void testSeparatorInDescriptionRoundTrips() throws GbException {
+        Storage storage = new Storage(dataFile);
+        ArrayList<Task> tasks = storage.loadTasks();
+        tasks.add(new Todo("read a | b | c"));
+        tasks.add(new Deadline("pay rent | bills", LocalDateTime.of(2025, 8, 28, 23, 59)));
+        tasks.add(new Event("offsite \\| planning \\", LocalDateTime.of(2025, 8, 28, 10, 0),
+                LocalDateTime.of(2025, 8, 29, 12, 0)));
+        tasks.get(1).addTags(List.of("home"));
+        storage.saveTasks(tasks);
+        Todo journaled = new Todo("journaled | todo");
+        tasks.add(journaled);
+        storage.appendAdd(journaled);
+        storage.appendDescription(1, "renamed | todo");
+        storage.close();
+
+        ArrayList<Task> loaded = new Storage(dataFile).loadTasks();
+        assertEquals(4, loaded.size());
+        assertEquals("renamed | todo", loaded.get(0).getDescription());
+        assertTrue(loaded.get(0).getTags().isEmpty());
+        assertEquals("pay rent | bills", loaded.get(1).getDescription());
+        assertEquals(Set.of("home"), loaded.get(1).getTags());
+        assertEquals("offsite \\| planning \\", loaded.get(2).getDescription());
+        assertTrue(loaded.get(2).getTags().isEmpty());
+        assertEquals("journaled | todo", loaded.get(3).getDescription());
+    }
+
+    @Test
+    public void testBinarySnapshotRoundTrip() throws GbException {
+        String binaryFile = tempDir.resolve("tasks.bin").toString();
+        Storage storage = new Storage(binaryFile);
+        ArrayList<Task> tasks = storage.loadTasks();
+        tasks.add(new Todo("Buy groceries", true));
+        tasks.add(new Deadline("Submit report", LocalDateTime.of(2025, 8, 28, 23, 59)));
+        tasks.add(new Event("Team meeting", LocalDateTime.of(2025, 8, 28, 10, 0),
+                LocalDateTime.of(2025, 8, 29, 12, 0)));
+        tasks.get(2).addTags(List.of("work", "q3"));
+        storage.saveTasks(tasks);
+        storage.close();
+
+        ArrayList<Task> loaded = new Storage(binaryFile).loadTasks();
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), loaded.get(i).toString());
+        }
+        assertEquals(Set.of("work", "q3"), loaded.get(2).getTags());
+    }
+
+    @Test
+    public void testCommandsRunWhileLoadingIncrementally() throws Exception {
+        StringBuilder text = new StringBuilder("# gen 0\n");
+        int count = 0;
+        while (text.length() < (1 << 20) + 1024) {
+            text.append("T | 0 | task ").append(count++).append('\n');
+        }
+        Files.writeString(tempDir.resolve("tasks.txt"), text);
+        Storage storage = new Storage(dataFile);
+        assertTrue(storage.prepareIncrementalLoad());
+
+        TaskList taskList = new TaskList();
+        CountDownLatch firstBatchLoaded = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        taskList.beginLoading();
+        Thread loader = new Thread(() -> {
+            try {
+                storage.loadTasksIncrementally(batch -> {
+                    taskList.appendLoaded(batch);
+                    firstBatchLoaded.countDown();
+                    try {
+                        resume.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (GbException e) {
+                throw new AssertionError(e);
+            } finally {
+                taskList.finishLoading();
+            }
+        });
+        loader.start();
+
+        assertTrue(firstBatchLoaded.await(10, TimeUnit.SECONDS));
+        assertTrue(taskList.isLoading());
+        int loadedSize = taskList.getLoadedSize();
+        assertTrue(loadedSize > 0 && loadedSize < count);
+        assertEquals("task 0", taskList.getTask(1).getDescription());
+        taskList.mark(1);
+        taskList.add(new Todo("added while loading"));
+        assertEquals(loadedSize, taskList.getLoadedTasks(0, Integer.MAX_VALUE).size());
+
+        resume.countDown();
+        loader.join(10_000);
+        assertFalse(taskList.isLoading());
+        assertEquals(count + 1, taskList.getSize());
+        assertTrue(taskList.getTask(1).isDone());
+        assertEquals("task " + (count - 1), taskList.getTask(count).getDescription());
+        assertEquals("added while loading", taskList.getTask(count + 1).getDescription());
+        storage.close();
+    }
+
+    @Test
+    public void testCorruptBinarySnapshotIsRejected() throws Exception {
+        Path binaryFile = tempDir.resolve("tasks.bin");
+        Storage storage = new Storage(binaryFile.toString());
+        ArrayList<Task> tasks = storage.loadTasks();
+        tasks.add(new Todo("Buy groceries"));
+        tasks.add(new Todo("Submit report"));
+        storage.saveTasks(tasks);
+        storage.close();
+        byte[] snapshot = Files.readAllBytes(binaryFile);
+
+        // The description length of the first record follows the 14-byte header and 2 flag bytes
+        byte[] negativeLength = snapshot.clone();
+        ByteBuffer.wrap(negativeLength).putInt(16, -5);
+        Files.write(binaryFile, negativeLength);
+        assertThrows(GbException.class, () -> new Storage(binaryFile.toString()).loadTasks());
+
+        byte[] longLength = snapshot.clone();
+        ByteBuffer.wrap(longLength).putInt(16, 1 << 30);
+        Files.write(binaryFile, longLength);
+        assertThrows(GbException.class, () -> new Storage(binaryFile.toString()).loadTasks());
+
+        Files.write(binaryFile, Arrays.copyOf(snapshot, snapshot.length - 10));
+        assertThrows(GbException.class, () -> new Storage(binaryFile.toString()).loadTasks());
+    }
+
+    @Test
+    public void testTagsSurviveJournalAndTextSnapshot() throws GbException {
+        Storage storage = new Storage(dataFile);
+        ArrayList<Task> tasks = storage.loadTasks();
+        Todo todo = new Todo("Buy groceries");
+        tasks.add(todo);
+        storage.appendAdd(todo);
+        Deadline deadline = new Deadline("Submit report", LocalDateTime.of(2025, 8, 28, 23, 59));
+        tasks.add(deadline);
+        storage.appendAdd(deadline);
+        storage.appendTags(2, List.of("work", "urgent"));
+        storage.close();
+
+        storage = new Storage(dataFile);
+        ArrayList<Task> replayed = storage.loadTasks();
+        assertTrue(replayed.get(0).getTags().isEmpty());
+        assertEquals(Set.of("work", "urgent"), replayed.get(1).getTags());
+        storage.saveTasks(replayed);
+        storage.close();
+
+        ArrayList<Task> loaded = new Storage(dataFile).loadTasks();
+        assertEquals("Submit report", loaded.get(1).getDescription());
+        assertEquals(Set.of("work", "urgent"), loaded.get(1).getTags());
+    }
+
+    @Test
+    public void testTextSnapshotIsMigratedToBinary() throws Exception {
+        Files.writeString(tempDir.resolve("tasks.txt"), "T | 1 | Buy groceries\n"
+                + "D | 0 | Submit report | 2025-08-28T23:59\n");
+
+        Storage storage = new Storage(dataFile, SnapshotFormat.BINARY);
+        ArrayList<Task> tasks = storage.loadTasks();
+        storage.close();
+        assertEquals(2, tasks.size());
+        assertEquals(SnapshotFormat.BINARY, SnapshotFormat.detect(tempDir.resolve("tasks.txt")));
+
+        ArrayList<Task> loaded = new Storage(dataFile, SnapshotFormat.BINARY).loadTasks();
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.get(0).isDone());
+        assertEquals("Submit report", loaded.get(1).getDescription());
+    }
+}
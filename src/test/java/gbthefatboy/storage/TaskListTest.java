@@ -3,6 +3,7 @@ package gbthefatboy.storage;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,7 @@ import gbthefatboy.exception.GbException;
 import gbthefatboy.task.Deadline;
 import gbthefatboy.task.Event;
 import gbthefatboy.task.Task;
+import gbthefatboy.task.TaskFilter;
 import gbthefatboy.task.Todo;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -110,5 +112,323 @@ public class TaskListTest {
         ArrayList<Task> tasksOnDate = taskList.findTasksByDate(target);
         assertTrue(tasksOnDate.isEmpty());
     }
-}
 
+    @Test
+    public void testTasksAddedWhileLoadingFollowLoadedTasks() throws GbException {
+        taskList.beginLoading();
+        taskList.appendLoaded(List.of(todo));
+        taskList.add(event);
+        taskList.appendLoaded(List.of(deadline));
+
+        assertTrue(taskList.isLoading());
+        assertEquals(todo, taskList.getTask(1));
+        assertEquals(3, taskList.getSize());
+
+        taskList.finishLoading();
+        assertFalse(taskList.isLoading());
+        assertEquals(deadline, taskList.getTask(2));
+        assertEquals(event, taskList.getTask(3));
+    }
+
+    @Test
+    public void testFindTasksByKeyword() throws GbException {
+        taskList.add(todo);
+        taskList.add(deadline);
+        taskList.add(event);
+        taskList.add(new Todo("Buy milk"));
+
+        ArrayList<Task> tasks = taskList.findTasksByKeyword("Buy");
+        assertEquals(2, tasks.size());
+        assertEquals(todo, tasks.get(0));
+        assertTrue(taskList.findTasksByKeyword("oceri").contains(todo));
+        assertEquals(4, taskList.findTasksByKeyword("").size());
+        assertTrue(taskList.findTasksByKeyword("Buy milk and eggs").isEmpty());
+    }
+
+    @Test
+    public void testFindTasksByKeywordAfterDeleteAndRename() throws GbException {
+        taskList.add(todo);
+        taskList.add(deadline);
+        taskList.delete(1);
+        assertTrue(taskList.findTasksByKeyword("groceries").isEmpty());
+
+        taskList.setDescription(1, "Submit report #work");
+        assertEquals(deadline, taskList.findTasksByKeyword("#work").get(0));
+        assertEquals(1, taskList.findTasksByKeyword("report").size());
+    }
+
+    @Test
+    public void testFindTasksByDateRange() throws GbException {
+        Event conference = new Event("Conference", LocalDateTime.of(2025, 8, 30, 9, 0),
+                LocalDateTime.of(2025, 9, 2, 18, 0));
+        Event semester = new Event("Semester", LocalDateTime.of(2025, 1, 13, 9, 0),
+                LocalDateTime.of(2025, 12, 5, 18, 0));
+        taskList.add(semester);
+        taskList.add(deadline);
+        taskList.add(conference);
+        taskList.add(event);
+
+        ArrayList<Task> tasks = taskList.findTasksByDateRange(LocalDate.of(2025, 8, 29), LocalDate.of(2025, 8, 31));
+        assertEquals(List.of(semester, conference), tasks);
+        assertEquals(List.of(semester, deadline, conference, event),
+                taskList.findTasksByDateRange(LocalDate.of(2025, 8, 28), LocalDate.of(2025, 9, 1)));
+        assertEquals(List.of(semester, conference), taskList.findTasksByDate(LocalDate.of(2025, 9, 2)));
+
+        taskList.delete(3);
+        taskList.delete(1);
+        assertTrue(taskList.findTasksByDate(LocalDate.of(2025, 9, 1)).isEmpty());
+        assertEquals(List.of(deadline, event), taskList.findTasksByDate(LocalDate.of(2025, 8, 28)));
+    }
+
+    @Test
+    public void testBulkDeleteKeepsNumbering() throws GbException {
+        for (int i = 0; i < 5000; i++) {
+            taskList.add(new Todo("task " + i));
+        }
+        for (int i = 1; i <= 2500; i++) {
+            taskList.delete(i);
+        }
+        taskList.delete(1);
+
+        assertEquals(2499, taskList.getSize());
+        assertEquals("task 3", taskList.getTask(1).getDescription());
+        assertEquals("task 4999", taskList.getTask(2499).getDescription());
+        assertEquals(1, taskList.findTasksByKeyword("task 4999").size());
+        assertThrows(GbException.class, () -> taskList.getTask(2500));
+
+        int expected = 3;
+        for (Task task : taskList.getTasks()) {
+            assertEquals("task " + expected, task.getDescription());
+            expected += 2;
+        }
+    }
+
+    @Test
+    public void testGetTasksIsReadOnly() throws GbException {
+        taskList.add(todo);
+        assertThrows(UnsupportedOperationException.class, () -> taskList.getTasks().add(deadline));
+        assertThrows(UnsupportedOperationException.class, () -> taskList.getTasks().remove(0));
+    }
+
+    @Test
+    public void testGetTasksPageSkipsDeletedTasks() throws GbException {
+        for (int i = 0; i < 10; i++) {
+            taskList.add(new Todo("task " + i));
+        }
+        taskList.delete(3);
+        taskList.delete(3);
+
+        List<Task> page = taskList.getTasks(2, 3);
+        assertEquals(3, page.size());
+        assertEquals("task 4", page.get(0).getDescription());
+        assertEquals("task 6", page.get(2).getDescription());
+        assertEquals(2, taskList.getTasks(6, 5).size());
+        assertTrue(taskList.getTasks(8, 5).isEmpty());
+    }
+
+    @Test
+    public void testVersionChangesWithTasks() throws GbException {
+        taskList.add(todo);
+        long version = taskList.getVersion();
+        taskList.mark(1);
+        assertTrue(taskList.getVersion() > version);
+        assertEquals("[T][X] Buy groceries", taskList.getTask(1).toString());
+
+        version = taskList.getVersion();
+        taskList.setDescription(1, "Buy milk");
+        assertTrue(taskList.getVersion() > version);
+        assertEquals("[T][X] Buy milk", taskList.getTask(1).toString());
+    }
+
+    @Test
+    public void testSnapshotTasksIsSnapshot() throws GbException {
+        taskList.add(todo);
+        List<Task> snapshot = taskList.snapshotTasks();
+        List<Task> view = taskList.getTasks();
+        taskList.add(deadline);
+        taskList.delete(1);
+
+        assertEquals(List.of(todo), snapshot);
+        assertEquals(List.of(deadline), taskList.snapshotTasks());
+        assertEquals(List.of(deadline), view);
+    }
+
+    @Test
+    public void testReadersRunAlongsideWriter() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            taskList.add(new Todo("task " + i));
+        }
+        List<Throwable> failures = new ArrayList<>();
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 2000; i++) {
+                    taskList.add(new Todo("new task " + i));
+                    taskList.mark(1 + i % 500);
+                    taskList.delete(1);
+                }
+            } catch (GbException | RuntimeException e) {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            }
+        });
+        Thread reader = new Thread(() -> {
+            try {
+                for (int i = 0; i < 500; i++) {
+                    int size = taskList.snapshotTasks().size();
+                    assertTrue(size == 1000 || size == 1001, "snapshot of " + size + " tasks");
+                    assertEquals(50, taskList.getTasks(i, 50).size());
+                    taskList.findTasksByKeyword("task 9");
+                }
+            } catch (RuntimeException | AssertionError e) {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(1000, taskList.getSize());
+        assertEquals("new task 1999", taskList.getTask(1000).getDescription());
+    }
+
+    @Test
+    public void testEqualDescriptionsShared() throws GbException {
+        taskList.add(new Todo(new String("standup")));
+        taskList.add(new Todo(new String("standup")));
+        taskList.add(new Todo("lunch"));
+        taskList.setDescription(3, new String("standup"));
+
+        String shared = taskList.getTask(1).getDescription();
+        assertTrue(shared == taskList.getTask(2).getDescription());
+        assertTrue(shared == taskList.getTask(3).getDescription());
+        assertEquals(2, taskList.getDescriptionPool().getSharedCount());
+        assertEquals(3, taskList.findTasksByKeyword("standup").size());
+        assertTrue(taskList.findTasksByKeyword("lunch").isEmpty());
+    }
+
+    @Test
+    public void testFindTasksByTags() throws GbException {
+        taskList.add(todo);
+        taskList.add(deadline);
+        taskList.add(event);
+        taskList.addTags(1, List.of("home"));
+        taskList.addTags(2, List.of("work", "urgent"));
+        taskList.addTags(3, List.of("work"));
+
+        assertEquals(List.of(deadline, event), taskList.findTasksByTags(List.of("work")));
+        assertEquals(List.of(deadline), taskList.findTasksByTags(List.of("work", "urgent")));
+        assertTrue(taskList.findTasksByTags(List.of("home", "work")).isEmpty());
+        assertTrue(taskList.findTasksByTags(List.of("unknown")).isEmpty());
+        assertEquals(2, (int) taskList.getTagCounts().get("work"));
+
+        taskList.delete(2);
+        assertEquals(List.of(event), taskList.findTasksByTags(List.of("work")));
+        assertFalse(taskList.getTagCounts().containsKey("urgent"));
+    }
+
+    @Test
+    public void testCommonKeywordScansInsteadOfUsingIndex() throws GbException {
+        for (int i = 0; i < 100; i++) {
+            taskList.add(new Todo("common task " + i + (i % 40 == 0 ? " rare" : "")));
+        }
+        taskList.mark(2);
+
+        assertEquals(100, taskList.findTasksByKeyword("common").size());
+        assertEquals(List.of(taskList.getTask(2)), taskList.findTasksByKeyword("common", TaskFilter.ALL.withDone()));
+        assertEquals(3, taskList.findTasksByKeyword("rare").size());
+    }
+
+    @Test
+    public void testFilteredTasksFollowMarksAndDeletes() throws GbException {
+        Deadline other = new Deadline("Pay rent", LocalDateTime.of(2025, 9, 1, 9, 0));
+        taskList.add(todo);
+        taskList.add(deadline);
+        taskList.add(event);
+        taskList.add(other);
+        TaskFilter pendingDeadlines = TaskFilter.ALL.withPending().withType(TaskFilter.Type.DEADLINE);
+
+        assertEquals(List.of(deadline, other), taskList.getTasks(pendingDeadlines, 0, 10).getTasks());
+        taskList.mark(2);
+        assertEquals(List.of(other), taskList.getTasks(pendingDeadlines, 0, 10).getTasks());
+        assertEquals(List.of(deadline), taskList.getTasks(TaskFilter.ALL.withDone(), 0, 10).getTasks());
+        assertEquals(List.of(todo, event), taskList.getTasks(TaskFilter.ALL.withType(TaskFilter.Type.TODO)
+                .withType(TaskFilter.Type.EVENT), 0, 10).getTasks());
+
+        taskList.delete(1);
+        taskList.unmark(1);
+        assertEquals(List.of(deadline, other), taskList.getTasks(pendingDeadlines, 0, 10).getTasks());
+        assertEquals(List.of(other), taskList.findTasksByKeyword("Pay", pendingDeadlines));
+        assertEquals(List.of(deadline), taskList.findTasksByKeyword("Su", pendingDeadlines));
+        assertTrue(taskList.findTasksByKeyword("Team", pendingDeadlines).isEmpty());
+
+        taskList.addTags(3, List.of("home"));
+        assertEquals(List.of(other), taskList.findTasksByTags(List.of("home"), pendingDeadlines));
+        assertTrue(taskList.findTasksByTags(List.of("home"), TaskFilter.ALL.withDone()).isEmpty());
+    }
+
+    @Test
+    public void testColumnsLayoutMatchesObjects() throws GbException {
+        TaskList columns = new TaskList(TaskLayout.COLUMNS);
+        for (TaskList list : List.of(taskList, columns)) {
+            for (int i = 0; i < 3000; i++) {
+                String description = "task " + i + (i % 7 == 0 ? " caf\u00e9" : "");
+                LocalDateTime time = LocalDateTime.of(2025, 1, 1, 9, 30).plusHours(i * 5L);
+                list.add(i % 3 == 0 ? new Todo(description)
+                        : i % 3 == 1 ? new Deadline(description, time)
+                        : new Event(description, time, time.plusDays(2)));
+            }
+            for (int index = 1; index <= 3000; index++) {
+                if (index % 5 == 0) {
+                    list.mark(index);
+                }
+                if (index % 11 == 0) {
+                    list.addTags(index, List.of("work", "q" + index % 4));
+                }
+                if (index % 13 == 0) {
+                    list.setDescription(index, "renamed " + index);
+                }
+            }
+            for (int i = 0; i < 2000; i++) {
+                list.delete(i % 3 == 0 ? 1 : list.getSize() - 1);
+            }
+            for (int i = 0; i < 400; i++) {
+                list.setDescription(2, "renamed again and again ".repeat(8) + i);
+            }
+            list.unmark(5);
+        }
+
+        assertEquals(1000, columns.getSize());
+        assertEquals(render(taskList.getTasks()), render(columns.getTasks()));
+        assertEquals(render(taskList.getTasks(300, 20)), render(columns.getTasks(300, 20)));
+        TaskFilter pendingEvents = TaskFilter.ALL.withPending().withType(TaskFilter.Type.EVENT);
+        for (String keyword : List.of("caf\u00e9", "renamed", "k 1", "again", "task 2")) {
+            assertEquals(render(taskList.findTasksByKeyword(keyword)), render(columns.findTasksByKeyword(keyword)));
+            TaskPage expected = taskList.findTaskPageByKeyword(keyword, pendingEvents);
+            TaskPage actual = columns.findTaskPageByKeyword(keyword, pendingEvents);
+            assertEquals(render(expected.getTasks()), render(actual.getTasks()));
+            for (int i = 0; i < expected.getTasks().size(); i++) {
+                assertEquals(expected.getIndex(i), actual.getIndex(i));
+            }
+        }
+        assertEquals(render(taskList.findTasksByTags(List.of("work", "q1"))),
+                render(columns.findTasksByTags(List.of("work", "q1"))));
+        assertEquals(render(taskList.findTasksByDateRange(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1))),
+                render(columns.findTasksByDateRange(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1))));
+        assertEquals(render(taskList.getTasks(TaskFilter.ALL.withDone(), 10, 30).getTasks()),
+                render(columns.getTasks(TaskFilter.ALL.withDone(), 10, 30).getTasks()));
+        assertEquals(taskList.getTagCounts(), columns.getTagCounts());
+    }
+
+    private static List<String> render(List<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.toString());
+        }
+        return lines;
+    }
+}
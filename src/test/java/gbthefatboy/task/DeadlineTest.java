@@ -67,4 +67,15 @@ public class DeadlineTest { // must be public
                 dt.format(DateTimeFormatter.ofPattern("MMM dd yyyy, h:mma")));
         assertEquals(expected, deadline.toString());
     }
+
+    @Test
+    public void testEpochConstructorMatchesDateTime() {
+        LocalDateTime dt = LocalDateTime.of(2025, 8, 28, 15, 30);
+        Deadline deadline = new Deadline("Submit report", dt);
+        Deadline fromEpoch = new Deadline("Submit report", false, deadline.getDeadlineEpochSecond());
+
+        assertEquals(dt, fromEpoch.getDeadline());
+        assertEquals(dt.toLocalDate().toEpochDay(), deadline.getDeadlineEpochDay());
+        assertEquals(deadline.toString(), fromEpoch.toString());
+    }
 }
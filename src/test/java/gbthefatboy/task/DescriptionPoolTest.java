@@ -0,0 +1,39 @@
+package gbthefatboy.task;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DescriptionPoolTest {
+
+    @Test
+    public void testEqualDescriptionsShareOneInstance() {
+        DescriptionPool pool = new DescriptionPool(10);
+        String first = new String("weekly report");
+        String second = new String("weekly report");
+
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertSame(first, pool.intern(first));
+        assertEquals(3, pool.getLookupCount());
+        assertEquals(1, pool.getSharedCount());
+        assertEquals(40 + "weekly report".length(), pool.getSavedBytes());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDescriptionDropped() {
+        DescriptionPool pool = new DescriptionPool(2);
+        String standup = new String("standup");
+        pool.intern(standup);
+        pool.intern("lunch");
+        pool.intern(new String("standup"));
+        pool.intern("gym");
+
+        assertEquals(2, pool.getSize());
+        assertSame(standup, pool.intern(new String("standup")));
+        String lunch = new String("lunch");
+        assertSame(lunch, pool.intern(lunch));
+        assertEquals(2, pool.getSharedCount());
+    }
+}
@@ -78,4 +78,17 @@ public class EventTest {
                 end.format(DateTimeFormatter.ofPattern("MMM dd yyyy, h:mma")));
         assertEquals(expected, event.toString());
     }
+
+    @Test
+    public void testEpochDaysOfMultiDayEvent() {
+        LocalDateTime start = LocalDateTime.of(2025, 8, 28, 23, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 8, 30, 1, 0);
+        Event event = new Event("Hackathon", start, end);
+        Event fromEpoch = new Event("Hackathon", false, event.getStartEpochSecond(), event.getEndEpochSecond());
+
+        assertEquals(start.toLocalDate().toEpochDay(), event.getStartEpochDay());
+        assertEquals(end.toLocalDate().toEpochDay(), event.getEndEpochDay());
+        assertEquals(start, fromEpoch.getStartDateTime());
+        assertEquals(end, fromEpoch.getEndDateTime());
+    }
 }